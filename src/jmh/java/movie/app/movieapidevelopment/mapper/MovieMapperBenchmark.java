@@ -0,0 +1,49 @@
+package movie.app.movieapidevelopment.mapper;
+
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.support.MovieFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovieMapperBenchmark {
+
+    private MovieMapper movieMapper;
+    private MovieEntity entity;
+    private MovieRequest request;
+
+    @Setup
+    public void setUp() {
+        // no JdbcTemplate: canonicalization only consults the in-memory dictionaries
+        MovieDimensions dimensions = new MovieDimensions(
+                new StaticListableBeanFactory().getBeanProvider(JdbcTemplate.class));
+        MovieFixtures.registerDimensions(dimensions);
+        movieMapper = new MovieMapperImpl(dimensions);
+        entity = MovieFixtures.entity(42);
+        request = MovieFixtures.request(42);
+    }
+
+    @Benchmark
+    public MovieResponse toDTO() {
+        return movieMapper.toDTO(entity);
+    }
+
+    @Benchmark
+    public MovieEntity toEntity() {
+        return movieMapper.toEntity(request);
+    }
+}
@@ -0,0 +1,90 @@
+package movie.app.movieapidevelopment.serialization;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.google.protobuf.CodedOutputStream;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.protobuf.MovieProtobufCodec;
+import movie.app.movieapidevelopment.support.MovieFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Encoding cost of a movie list per response format; the payload size of each combination is printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieFormatBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"JSON", "CBOR", "PROTOBUF"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+    private List<MovieResponse> movies;
+
+    @Setup
+    public void setUp() throws IOException {
+        TypeReference<List<MovieResponse>> listType = new TypeReference<>() {
+        };
+        jsonWriter = new ObjectMapper().writerFor(listType);
+        cborWriter = new ObjectMapper(new CBORFactory()).writerFor(listType);
+        movies = MovieFixtures.responses(size);
+
+        System.out.printf("%n%s gzip=%s size=%d payload=%d bytes%n", format, gzip, size, encode());
+    }
+
+    @Benchmark
+    public long encode() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter;
+        switch (format) {
+            case "JSON" -> jsonWriter.writeValue(out, movies);
+            case "CBOR" -> cborWriter.writeValue(out, movies);
+            default -> {
+                CodedOutputStream output = CodedOutputStream.newInstance(out, 8192);
+                for (MovieResponse movie : movies) {
+                    MovieProtobufCodec.writeDelimitedMovie(output, movie);
+                }
+                output.flush();
+            }
+        }
+        out.close();
+        return counter.count;
+    }
+
+    // discards the bytes so the benchmark measures encoding, not buffer growth
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.MovieapidevelopmentApplication;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.support.MovieFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetAllMoviesBenchmark {
+
+    @Param({"10000"})
+    public int datasetSize;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieFilter filter;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(MovieapidevelopmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        // Flyway migrates H2 with the common + h2 scripts, so the keyset indexes the listing
+                        // relies on exist as they do in production
+                        "--logging.level.root=WARN");
+        movieService = context.getBean(MovieService.class);
+        filter = new MovieFilter();
+
+        List<MovieRequest> requests = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            requests.add(MovieFixtures.request(i));
+        }
+        context.getBean(MovieBulkImportService.class).importMovies(requests.iterator());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public MoviePageResponse firstPage() {
+        return movieService.getAllMovies(filter, null, pageSize);
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        movieService.streamAllMovies(blackhole::consume);
+    }
+}
@@ -0,0 +1,99 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.support.MovieFixtures;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// rejectedRequest is the current write path; legacyRejectedRequest replays the old one: @Valid through
+// Hibernate Validator, then the service check throwing an exception that fills in its stack trace.
+// stackDepth stands in for the filter, proxy and handler frames above the service in a real request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovieValidationBenchmark {
+
+    @Param({"10", "150"})
+    private int stackDepth;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private MovieRequest validRequest;
+    private MovieRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = MovieFixtures.request(7);
+        invalidRequest = MovieFixtures.request(7);
+        invalidRequest.setReleaseYear(1700);
+        invalidRequest.setImdbRating(11.0f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object validRequest() {
+        return atDepth(stackDepth, () -> {
+            MovieServiceImpl.validateMovieRequest(validRequest);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Object rejectedRequest() {
+        return atDepth(stackDepth, () -> {
+            try {
+                MovieServiceImpl.validateMovieRequest(invalidRequest);
+                return null;
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+    }
+
+    @Benchmark
+    public Object legacyRejectedRequest() {
+        return atDepth(stackDepth, () -> {
+            Set<ConstraintViolation<MovieRequest>> violations = validator.validate(invalidRequest);
+            if (violations.isEmpty()) {
+                return null;
+            }
+            try {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+    }
+
+    private static Object atDepth(int depth, Step step) {
+        return depth == 0 ? step.run() : atDepth(depth - 1, step);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        Object run();
+    }
+}
@@ -0,0 +1,58 @@
+package movie.app.movieapidevelopment.support;
+
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MovieFixtures {
+
+    private static final String[] GENRES = {"Drama", "Comedy", "Sci-Fi", "Action", "Thriller", "Romance", "Horror"};
+    private static final String[] DIRECTORS = {"Christopher Nolan", "Greta Gerwig", "Denis Villeneuve",
+            "Bong Joon-ho", "Kathryn Bigelow", "Hayao Miyazaki", "Jordan Peele", "Sofia Coppola"};
+
+    private MovieFixtures() {
+    }
+
+    public static void registerDimensions(MovieDimensions dimensions) {
+        for (int i = 0; i < GENRES.length; i++) {
+            dimensions.genres().put(i + 1, GENRES[i]);
+        }
+        for (int i = 0; i < DIRECTORS.length; i++) {
+            dimensions.directors().put(i + 1, DIRECTORS[i]);
+        }
+    }
+
+    public static MovieRequest request(int i) {
+        MovieRequest request = new MovieRequest();
+        request.setTitle("Movie " + i);
+        request.setDirector(DIRECTORS[i % DIRECTORS.length]);
+        request.setReleaseYear(1950 + i % 75);
+        request.setGenre(GENRES[i % GENRES.length]);
+        request.setImdbRating((i % 100) / 10.0f);
+        return request;
+    }
+
+    public static MovieEntity entity(int i) {
+        MovieEntity entity = new MovieEntity();
+        entity.setId((long) i + 1);
+        entity.setTitle("Movie " + i);
+        entity.setDirector(DIRECTORS[i % DIRECTORS.length]);
+        entity.setReleaseYear(1950 + i % 75);
+        entity.setGenre(GENRES[i % GENRES.length]);
+        entity.setImdbRating((i % 100) / 10.0f);
+        return entity;
+    }
+
+    public static List<MovieResponse> responses(int count) {
+        List<MovieResponse> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(new MovieResponse((long) i + 1, "Movie " + i, DIRECTORS[i % DIRECTORS.length],
+                    1950 + i % 75, GENRES[i % GENRES.length], (i % 100) / 10.0f));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,39 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import java.util.Arrays;
+
+final class LatencyStats {
+
+    private final long[] latenciesNanos;
+    private final int count;
+    private final int errors;
+    private final long elapsedNanos;
+
+    LatencyStats(long[] latenciesNanos, int count, int errors, long elapsedNanos) {
+        this.latenciesNanos = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(this.latenciesNanos);
+        this.count = count;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    double throughput() {
+        return count / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    int count() {
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import movie.app.movieapidevelopment.MovieapidevelopmentApplication;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.service.MovieBulkImportService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Boots MovieapidevelopmentApplication in-process on a random port against a throwaway database:
+// in-memory H2 by default, or a Testcontainers Postgres with -Dloadtest.database=postgres (offline this needs
+// the image in the local Docker cache). -Dspring.datasource.* points it at any other database instead.
+final class LoadTestServer implements AutoCloseable {
+
+    static final int GENRES = 20;
+    static final int DIRECTORS = 500;
+
+    private final PostgreSQLContainer<?> postgres;
+    private final ConfigurableApplicationContext context;
+    private final String database;
+
+    private LoadTestServer(PostgreSQLContainer<?> postgres, ConfigurableApplicationContext context, String database) {
+        this.postgres = postgres;
+        this.context = context;
+        this.database = database;
+    }
+
+    // settings are passed as command-line arguments and always apply; defaults yield to -D overrides
+    static LoadTestServer start(Map<String, String> settings) {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", "0");
+        defaults.put("server.tomcat.threads.max", "200");
+        defaults.put("logging.level.root", "WARN");
+        // all load comes from one address and the harness runs more clients than the per-endpoint pools admit,
+        // so admission control would turn most of the run into fast 503s; -Dmovie.admission.enabled=true
+        // measures it instead
+        defaults.put("movie.admission.enabled", "false");
+
+        PostgreSQLContainer<?> postgres = null;
+        String database;
+        if (System.getProperty("spring.datasource.url") != null) {
+            database = "external";
+        } else if ("postgres".equals(System.getProperty("loadtest.database", "h2"))) {
+            postgres = new PostgreSQLContainer<>(System.getProperty("loadtest.postgres-image", "postgres:16-alpine"));
+            postgres.start();
+            String url = postgres.getJdbcUrl();
+            defaults.put("spring.datasource.url", url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true");
+            defaults.put("spring.datasource.username", postgres.getUsername());
+            defaults.put("spring.datasource.password", postgres.getPassword());
+            database = "postgres";
+        } else {
+            defaults.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            defaults.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            defaults.put("spring.datasource.username", "sa");
+            defaults.put("spring.datasource.password", "");
+            defaults.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            defaults.put("spring.flyway.enabled", "false");
+            database = "h2";
+        }
+
+        List<String> args = new ArrayList<>();
+        settings.forEach((key, value) -> args.add("--" + key + "=" + value));
+        // command-line arguments outrank application.yml; -D overrides still win over these defaults
+        defaults.forEach((key, value) -> {
+            if (System.getProperty(key) == null && !settings.containsKey(key)) {
+                args.add("--" + key + "=" + value);
+            }
+        });
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(MovieapidevelopmentApplication.class)
+                    .run(args.toArray(String[]::new));
+            return new LoadTestServer(postgres, context, database);
+        } catch (RuntimeException e) {
+            if (postgres != null) {
+                postgres.stop();
+            }
+            throw e;
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1/movies";
+    }
+
+    String database() {
+        return database;
+    }
+
+    // the ids come from the table since pooled id allocation does not hand them out as 1..movies
+    long[] seed(int movies) {
+        List<MovieRequest> requests = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            requests.add(movie("Load Test Movie " + i, i, 1950 + i % 75, (i % 100) / 10.0f));
+        }
+        context.getBean(MovieBulkImportService.class).importMovies(requests.iterator());
+        return context.getBean(JdbcTemplate.class).queryForList("select id from movies order by id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    static MovieRequest movie(String title, int dimension, int releaseYear, float rating) {
+        MovieRequest request = new MovieRequest();
+        request.setTitle(title);
+        request.setDirector("Director " + (dimension % DIRECTORS));
+        request.setReleaseYear(releaseYear);
+        request.setGenre("Genre " + (dimension % GENRES));
+        request.setImdbRating(rating);
+        return request;
+    }
+
+    @Override
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+}
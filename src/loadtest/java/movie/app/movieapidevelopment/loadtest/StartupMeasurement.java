@@ -0,0 +1,139 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Starts the packaged application as a separate JVM, once as a plain `java -jar` and once with the
+// prod profile, AOT-generated initializers and the AppCDS archive from `./gradlew cdsArchive`, and
+// reports the median time until /actuator/health answers and the latency of the first API and
+// OpenAPI requests. Every run is a fresh process so the numbers include class loading and JIT warm-up.
+// Program arguments are passed to both applications (build.gradle defaults them to in-memory H2).
+public final class StartupMeasurement {
+
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final String FIRST_REQUEST = "/api/v1/movies?limit=20";
+    private static final String API_DOCS = "/v3/api-docs";
+
+    private StartupMeasurement() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path jar = Path.of(required("startup.jar"));
+        Path cdsDirectory = Path.of(required("startup.cds-directory"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path report = Path.of(System.getProperty("startup.report", "build/reports/startup/startup.txt"));
+
+        List<String> baseline = List.of(java, "-jar", jar.toString());
+        List<String> optimized = List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true",
+                "-jar", jar.getFileName().toString(), "--spring.profiles.active=prod");
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-10s %6s %12s %12s %12s %16s %14s",
+                "mode", "runs", "ready ms", "min ms", "max ms", "first req ms", "api-docs ms"));
+        lines.add(measure("baseline", baseline, jar.getParent(), List.of(args), runs));
+        lines.add(measure("aot+cds", optimized, cdsDirectory, List.of(args), runs));
+
+        lines.forEach(System.out::println);
+        Files.createDirectories(report.getParent());
+        Files.write(report, lines);
+    }
+
+    private static String measure(String mode, List<String> command, Path workingDirectory, List<String> settings,
+                                  int runs) throws IOException, InterruptedException {
+        long[] ready = new long[runs];
+        long[] firstRequest = new long[runs];
+        long[] apiDocs = new long[runs];
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        for (int run = 0; run < runs; run++) {
+            int port = freePort();
+            List<String> processCommand = new ArrayList<>(command);
+            processCommand.addAll(settings);
+            processCommand.add("--server.port=" + port);
+            processCommand.add("--logging.level.root=WARN");
+
+            long started = System.nanoTime();
+            Process process = new ProcessBuilder(processCommand)
+                    .directory(workingDirectory.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                String baseUrl = "http://localhost:" + port;
+                awaitReady(client, baseUrl, process, started);
+                ready[run] = System.nanoTime() - started;
+                firstRequest[run] = time(client, baseUrl + FIRST_REQUEST);
+                apiDocs[run] = time(client, baseUrl + API_DOCS);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        return String.format("%-10s %6d %12.0f %12.0f %12.0f %16.1f %14.1f", mode, runs,
+                medianMillis(ready), Arrays.stream(ready).min().orElse(0) / 1_000_000.0,
+                Arrays.stream(ready).max().orElse(0) / 1_000_000.0, medianMillis(firstRequest), medianMillis(apiDocs));
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, Process process, long started)
+            throws IOException, InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        while (System.nanoTime() - started < READY_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before it was ready");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // the server socket is not bound yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application was not ready within " + READY_TIMEOUT);
+    }
+
+    // any status counts; an empty H2 database answers the listing with 204
+    private static long time(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        long sent = System.nanoTime();
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+        return System.nanoTime() - sent;
+    }
+
+    private static double medianMillis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            throw new IllegalArgumentException("-D" + property + " is required; run through ./gradlew startupMeasurement");
+        }
+        return value;
+    }
+}
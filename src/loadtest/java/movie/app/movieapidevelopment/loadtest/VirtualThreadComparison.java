@@ -0,0 +1,104 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the API once with platform request threads and once with virtual threads, drives the same
+// point-read load against both and prints throughput and tail latency side by side.
+// Defaults to in-memory H2; use -Dloadtest.database=postgres or -Dspring.datasource.* to compare against a
+// real Postgres, where request threads actually spend their time blocked on JDBC.
+public final class VirtualThreadComparison {
+
+    private VirtualThreadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int movies = Integer.getInteger("loadtest.movies", 10_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1_000);
+        int requests = Integer.getInteger("loadtest.requests", 100_000);
+        Path report = Path.of(System.getProperty("loadtest.report", "build/reports/loadtest/virtual-threads.txt"));
+
+        List<String> lines = new ArrayList<>();
+        int errors = 0;
+        lines.add(String.format("%-10s %10s %10s %10s %10s %10s %8s",
+                "mode", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors"));
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            LatencyStats stats = run(virtualThreads, movies, concurrency, requests);
+            errors += stats.errors();
+            lines.add(String.format("%-10s %10d %10.0f %10.2f %10.2f %10.2f %8d",
+                    virtualThreads ? "virtual" : "platform", stats.count(), stats.throughput(),
+                    stats.percentileMillis(50), stats.percentileMillis(99), stats.percentileMillis(99.9),
+                    stats.errors()));
+        }
+
+        lines.forEach(System.out::println);
+        Files.createDirectories(report.getParent());
+        Files.write(report, lines);
+        // latencies of rejected or failed requests say nothing about the request threads
+        if (errors > 0) {
+            throw new IllegalStateException(errors + " requests did not return 200, see " + report);
+        }
+    }
+
+    private static LatencyStats run(boolean virtualThreads, int movies, int concurrency, int requests)
+            throws InterruptedException {
+        // every request has to reach the database for the comparison to mean anything
+        try (LoadTestServer server = LoadTestServer.start(Map.of(
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "spring.cache.type", "none"))) {
+            long[] ids = server.seed(movies);
+            String baseUrl = server.baseUrl() + "/";
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            drive(client, baseUrl, ids, concurrency, Math.max(1, requests / 10));
+            return drive(client, baseUrl, ids, concurrency, requests);
+        }
+    }
+
+    private static LatencyStats drive(HttpClient client, String baseUrl, long[] ids, int concurrency, int requests)
+            throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                });
+            }
+        }
+        return new LatencyStats(latencies, Math.min(next.get(), requests), errors.get(), System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,99 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Relative weights of the operations a replay sends: a preset name or a spec like "read=70,list=20,create=10".
+final class WorkloadMix {
+
+    enum Operation {
+        // GET /{id}
+        READ,
+        // GET / with a genre filter and sort, one page of 20
+        LIST,
+        // GET /batch-get with 20 ids
+        BATCH,
+        // POST /
+        CREATE,
+        // PUT /{id}
+        UPDATE;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final Map<String, String> PRESETS = Map.of(
+            "read-heavy", "read=80,list=10,batch=5,create=3,update=2",
+            "browse", "read=35,list=60,batch=5",
+            "write-heavy", "read=40,list=10,create=25,update=25");
+
+    private final String name;
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private WorkloadMix(String name, Map<Operation, Integer> weights) {
+        this.name = name;
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        String entries = PRESETS.getOrDefault(spec, spec);
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : entries.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected <operation>=<weight> in workload mix, got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in workload mix: '" + entry + "'");
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix '" + spec + "' has no operations");
+        }
+        return new WorkloadMix(spec, weights);
+    }
+
+    String name() {
+        return name;
+    }
+
+    Operation[] operations() {
+        return operations;
+    }
+
+    int totalWeight() {
+        return cumulative[cumulative.length - 1];
+    }
+
+    // roll is uniform in [0, totalWeight())
+    Operation pick(int roll) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalArgumentException("Roll " + roll + " exceeds total weight " + totalWeight());
+    }
+
+    Map<String, Integer> weights() {
+        Map<String, Integer> byKey = new LinkedHashMap<>();
+        weights.forEach((operation, weight) -> byKey.put(operation.key(), weight));
+        return byKey;
+    }
+}
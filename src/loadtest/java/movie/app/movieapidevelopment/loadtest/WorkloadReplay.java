@@ -0,0 +1,238 @@
+package movie.app.movieapidevelopment.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import movie.app.movieapidevelopment.loadtest.WorkloadMix.Operation;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the API against a seeded throwaway database (see LoadTestServer) and replays a weighted mix of reads,
+// listings, batch reads, creates and updates from a fixed number of closed-loop clients. The operation and the
+// parameters of request i depend only on the seed, so two runs with the same settings send the same requests;
+// only their interleaving varies. Results per operation go to workload-<mix>.json and .txt, meant to be kept
+// and diffed between builds.
+public final class WorkloadReplay {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int BATCH_SIZE = 20;
+    private static final int LIST_GENRES = LoadTestServer.GENRES;
+
+    private WorkloadReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int movies = Integer.getInteger("loadtest.movies", 10_000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 256);
+        int requests = Integer.getInteger("loadtest.requests", 100_000);
+        int warmup = Integer.getInteger("loadtest.warmup", Math.max(1, requests / 10));
+        long seed = Long.getLong("loadtest.seed", 42L);
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty("loadtest.mix", "read-heavy"));
+        Path reportDirectory = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        int errors;
+        try (LoadTestServer server = LoadTestServer.start(Map.of())) {
+            long[] ids = server.seed(movies);
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            // created titles only have to be unique per run, so they may differ between runs
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+            Replay replay = new Replay(client, server.baseUrl(), ids, new ObjectMapper());
+
+            replay.run(Plan.create(mix, ~seed, warmup), concurrency, runId + "w");
+            Instant startedAt = Instant.now();
+            Result result = replay.run(Plan.create(mix, seed, requests), concurrency, runId);
+
+            report.put("mix", mix.name());
+            report.put("weights", mix.weights());
+            report.put("seed", seed);
+            report.put("database", server.database());
+            report.put("movies", ids.length);
+            report.put("concurrency", concurrency);
+            report.put("warmupRequests", warmup);
+            report.put("requests", requests);
+            report.put("startedAt", startedAt.toString());
+            report.put("elapsedSeconds", result.elapsedNanos / 1_000_000_000.0);
+            Map<String, Map<String, Object>> operations = result.summary(mix);
+            report.put("operations", operations);
+            errors = (int) operations.get("all").get("errors");
+        }
+
+        String baseName = "workload-" + mix.name().replaceAll("[^A-Za-z0-9-]+", "_");
+        Files.createDirectories(reportDirectory);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(reportDirectory.resolve(baseName + ".json").toFile(), report);
+        List<String> lines = table(report);
+        lines.forEach(System.out::println);
+        Files.write(reportDirectory.resolve(baseName + ".txt"), lines);
+        // the report is kept either way, but a run with rejected or failed requests is not a baseline
+        if (errors > 0) {
+            throw new IllegalStateException(errors + " requests did not return 2xx, see "
+                    + reportDirectory.resolve(baseName + ".txt"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> table(Map<String, Object> report) {
+        List<String> lines = new ArrayList<>();
+        lines.add("mix " + report.get("mix") + " " + report.get("weights") + ", seed " + report.get("seed") + ", "
+                + report.get("movies") + " movies on " + report.get("database") + ", "
+                + report.get("concurrency") + " clients");
+        lines.add(String.format("%-8s %10s %10s %10s %10s %10s %8s %8s",
+                "op", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors", "error %"));
+        ((Map<String, Map<String, Object>>) report.get("operations")).forEach((operation, stats) ->
+                lines.add(String.format("%-8s %10d %10.0f %10.2f %10.2f %10.2f %8d %8.2f", operation,
+                        stats.get("requests"), stats.get("throughput"), stats.get("p50Ms"), stats.get("p99Ms"),
+                        stats.get("p999Ms"), stats.get("errors"), (double) stats.get("errorRate") * 100)));
+        return lines;
+    }
+
+    // operation and parameter seed of every request, fixed before the run starts
+    private record Plan(Operation[] operations, long[] seeds) {
+
+        static Plan create(WorkloadMix mix, long seed, int requests) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Operation[] operations = new Operation[requests];
+            long[] seeds = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                operations[i] = mix.pick(random.nextInt(mix.totalWeight()));
+                seeds[i] = random.nextLong();
+            }
+            return new Plan(operations, seeds);
+        }
+
+        int size() {
+            return operations.length;
+        }
+    }
+
+    private record Result(Plan plan, long[] latencies, int[] statuses, long elapsedNanos) {
+
+        Map<String, Map<String, Object>> summary(WorkloadMix mix) {
+            Map<String, Map<String, Object>> operations = new LinkedHashMap<>();
+            for (Operation operation : mix.operations()) {
+                operations.put(operation.key(), summarize(operation));
+            }
+            operations.put("all", summarize(null));
+            return operations;
+        }
+
+        private Map<String, Object> summarize(Operation operation) {
+            long[] selected = new long[latencies.length];
+            int count = 0;
+            int errors = 0;
+            Map<String, Integer> statusCounts = new TreeMap<>();
+            for (int i = 0; i < latencies.length; i++) {
+                if (operation != null && plan.operations()[i] != operation) {
+                    continue;
+                }
+                selected[count++] = latencies[i];
+                // 0 stands for a request that failed before a response arrived
+                statusCounts.merge(statuses[i] == 0 ? "io-error" : String.valueOf(statuses[i]), 1, Integer::sum);
+                if (statuses[i] < 200 || statuses[i] >= 300) {
+                    errors++;
+                }
+            }
+            LatencyStats stats = new LatencyStats(selected, count, errors, elapsedNanos);
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", stats.count());
+            summary.put("throughput", stats.throughput());
+            summary.put("p50Ms", stats.percentileMillis(50));
+            summary.put("p99Ms", stats.percentileMillis(99));
+            summary.put("p999Ms", stats.percentileMillis(99.9));
+            summary.put("errors", stats.errors());
+            summary.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+            summary.put("statuses", statusCounts);
+            return summary;
+        }
+    }
+
+    private record Replay(HttpClient client, String baseUrl, long[] ids, ObjectMapper objectMapper) {
+
+        Result run(Plan plan, int concurrency, String runId) throws InterruptedException {
+            long[] latencies = new long[plan.size()];
+            int[] statuses = new int[plan.size()];
+            AtomicInteger next = new AtomicInteger();
+
+            long started = System.nanoTime();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int worker = 0; worker < concurrency; worker++) {
+                    workers.submit(() -> {
+                        for (int i = next.getAndIncrement(); i < plan.size(); i = next.getAndIncrement()) {
+                            HttpRequest request = request(plan.operations()[i], plan.seeds()[i], runId + "-" + i);
+                            long sent = System.nanoTime();
+                            try {
+                                statuses[i] = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            } catch (IOException e) {
+                                statuses[i] = 0;
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return;
+                            }
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    });
+                }
+            }
+            return new Result(plan, latencies, statuses, System.nanoTime() - started);
+        }
+
+        private HttpRequest request(Operation operation, long seed, String requestId) {
+            SplittableRandom random = new SplittableRandom(seed);
+            return switch (operation) {
+                case READ -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + anyId(random))).GET().build();
+                case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "?limit=" + PAGE_SIZE
+                        + "&genre=Genre%20" + random.nextInt(LIST_GENRES)
+                        + (random.nextBoolean() ? "&sort=imdbRating,desc" : ""))).GET().build();
+                case BATCH -> {
+                    StringBuilder uri = new StringBuilder(baseUrl).append("/batch-get?ids=").append(anyId(random));
+                    for (int i = 1; i < BATCH_SIZE; i++) {
+                        uri.append(',').append(anyId(random));
+                    }
+                    yield HttpRequest.newBuilder(URI.create(uri.toString())).GET().build();
+                }
+                case CREATE -> json(HttpRequest.newBuilder(URI.create(baseUrl)), "POST",
+                        LoadTestServer.movie("Replay " + requestId, random.nextInt(LoadTestServer.DIRECTORS),
+                                1950 + random.nextInt(75), random.nextInt(101) / 10.0f));
+                case UPDATE -> {
+                    long id = anyId(random);
+                    // the title is derived from the id, so concurrent updates never collide on (title, director)
+                    yield json(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)), "PUT",
+                            LoadTestServer.movie("Load Test Movie #" + id, (int) (id % LoadTestServer.DIRECTORS),
+                                    1950 + random.nextInt(75), random.nextInt(101) / 10.0f));
+                }
+            };
+        }
+
+        private long anyId(SplittableRandom random) {
+            return ids[random.nextInt(ids.length)];
+        }
+
+        private HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+            try {
+                return builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot serialize request body", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package movie.app.movieapidevelopment.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admits a request only if its client is within rate and its endpoint class has a free slot. Nothing waits:
+// a request that cannot be admitted right away is answered with 429 or 503 and a Retry-After.
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String REJECTION_COUNTER = "movie.admission.rejections";
+
+    private final ClientRateLimiter rateLimiter;
+    private final ClientKeys clientKeys;
+    private final Map<EndpointClass, Semaphore> slots = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> overloaded = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionFilter(ClientRateLimiter rateLimiter, ClientKeys clientKeys,
+                           Map<EndpointClass, Integer> concurrencyLimits, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.clientKeys = clientKeys;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Integer limit = concurrencyLimits.get(endpointClass);
+            if (limit != null) {
+                Semaphore semaphore = new Semaphore(limit);
+                slots.put(endpointClass, semaphore);
+                Gauge.builder("movie.admission.in.flight", semaphore, s -> limit - s.availablePermits())
+                        .description("Admitted requests in progress per endpoint class")
+                        .tag("class", endpointClass.name())
+                        .register(meterRegistry);
+            }
+            rateLimited.put(endpointClass, rejectionCounter(meterRegistry, endpointClass, "RATE_LIMITED"));
+            overloaded.put(endpointClass, rejectionCounter(meterRegistry, endpointClass, "OVERLOADED"));
+        }
+        Gauge.builder("movie.admission.clients", rateLimiter, ClientRateLimiter::clients)
+                .description("Clients with a live rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getRequestURI());
+
+        long waitNanos = rateLimiter.tryAcquire(clientKeys.of(request));
+        if (waitNanos > 0) {
+            rateLimited.get(endpointClass).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Rate limit exceeded, retry later");
+            return;
+        }
+
+        Semaphore semaphore = slots.get(endpointClass);
+        if (semaphore == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!semaphore.tryAcquire()) {
+            overloaded.get(endpointClass).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Server is busy, retry later");
+            return;
+        }
+
+        Release release = new Release(semaphore);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // streaming and deferred responses keep their slot until the async request completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, EndpointClass endpointClass, String reason) {
+        return Counter.builder(REJECTION_COUNTER)
+                .description("Requests rejected before reaching a controller")
+                .tag("class", endpointClass.name())
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    // releases at most once, whichever of complete, error or timeout arrives first
+    private static final class Release implements AsyncListener, Runnable {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package movie.app.movieapidevelopment.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// Tells clients apart for rate limiting and read-your-writes stickiness. Only configured API keys count: a made-up
+// X-API-Key would otherwise get a fresh bucket per request, and a flood of them would push real clients out of
+// the bounded bucket map. Everyone else is keyed by remote address.
+@Component
+@Profile(StackProfiles.SERVLET)
+public class ClientKeys {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientKeys(@Value("${movie.admission.api-keys:}") Set<String> apiKeys) {
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    public String of(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
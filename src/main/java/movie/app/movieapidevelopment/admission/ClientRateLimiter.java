@@ -0,0 +1,53 @@
+package movie.app.movieapidevelopment.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per client in its GCRA form: the whole bucket is one theoretical arrival time updated
+// with a CAS, so admitting a request takes no lock and no refill thread.
+public class ClientRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public ClientRateLimiter(int requestsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (requestsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = Duration.ofSeconds(1).toNanos() / requestsPerSecond;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        // an idle bucket is full again after one burst interval, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * burst).plusSeconds(1))
+                .build();
+    }
+
+    // 0 when the request is admitted, otherwise the nanos until the client may try again
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long theoretical = arrival.get();
+            long start = theoretical - now > 0 ? theoretical : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(theoretical, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long clients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,30 @@
+package movie.app.movieapidevelopment.admission;
+
+// Concurrency classes; a full listing or export must not take the permits that point reads need
+public enum EndpointClass {
+    LIST, POINT_READ, WRITE, UNBOUNDED;
+
+    private static final String MOVIES = "/api/v1/movies";
+
+    public static EndpointClass of(String method, String path) {
+        if (!path.startsWith(MOVIES)) {
+            return UNBOUNDED;
+        }
+        String rest = path.substring(MOVIES.length());
+        // a read that only uses POST to carry its ids
+        if (rest.equals("/batch-get")) {
+            return POINT_READ;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        if (rest.isEmpty() || rest.equals("/") || rest.equals("/stream") || rest.equals("/catalog")) {
+            return LIST;
+        }
+        // long-poll and SSE readers mostly sit idle and are bounded by their wait and timeout instead
+        if (rest.equals("/changes")) {
+            return UNBOUNDED;
+        }
+        return POINT_READ;
+    }
+}
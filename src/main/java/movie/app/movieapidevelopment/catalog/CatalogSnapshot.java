@@ -0,0 +1,16 @@
+package movie.app.movieapidevelopment.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Immutable once published; readers get the arrays themselves, so nothing may write to them
+@Getter
+@AllArgsConstructor
+public class CatalogSnapshot {
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String eTag;
+    private final long movies;
+    // change feed position the scan started from
+    private final long seq;
+}
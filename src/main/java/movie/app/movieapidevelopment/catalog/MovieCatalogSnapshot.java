@@ -0,0 +1,154 @@
+package movie.app.movieapidevelopment.catalog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.service.MovieService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+// The whole catalog as pre-serialized JSON and gzip. It follows the change feed, so commits on any
+// instance lead to a rebuild; changes within the debounce window share one rebuild, and readers keep
+// getting the previous snapshot until the new one is swapped in. A failed build is retried with a doubling
+// delay, starting at the debounce window, until one succeeds.
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieCatalogSnapshot {
+
+    private final MovieService movieService;
+    private final MovieChangeFeed movieChangeFeed;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter movieWriter;
+    private final Duration debounce;
+    private final Duration maxRetryDelay;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("movie-catalog-snapshot").daemon().factory());
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private volatile CatalogSnapshot current;
+    // only touched on the executor thread
+    private int failedRebuilds;
+
+    public MovieCatalogSnapshot(MovieService movieService, MovieChangeFeed movieChangeFeed, ObjectMapper objectMapper,
+                                @Value("${movie.catalog.debounce:PT1S}") Duration debounce,
+                                @Value("${movie.catalog.max-retry-delay:PT1M}") Duration maxRetryDelay) {
+        this.movieService = movieService;
+        this.movieChangeFeed = movieChangeFeed;
+        this.objectMapper = objectMapper;
+        // one flush at the end instead of one per movie
+        this.movieWriter = objectMapper.writerFor(MovieResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.debounce = debounce;
+        this.maxRetryDelay = maxRetryDelay;
+    }
+
+    // null until the first build has finished
+    public CatalogSnapshot current() {
+        return current;
+    }
+
+    public long rebuilds() {
+        return rebuilds.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInitial() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    public void requestRebuild() {
+        scheduleRebuild(debounce);
+    }
+
+    private void scheduleRebuild(Duration delay) {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        // cleared before the scan: a change it might miss queues the next rebuild
+        rebuildQueued.set(false);
+        long seq = movieChangeFeed.publishedSeq();
+        try {
+            long started = System.nanoTime();
+            current = build(seq);
+            failedRebuilds = 0;
+            rebuilds.incrementAndGet();
+            log.debug("Rebuilt catalog snapshot of {} movies ({} bytes, {} gzipped) in {} ms", current.getMovies(),
+                    current.getJson().length, current.getGzip().length, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            failedRebuilds++;
+            Duration retryDelay = debounce.multipliedBy(1L << Math.min(failedRebuilds - 1, 20));
+            if (retryDelay.compareTo(maxRetryDelay) > 0) {
+                retryDelay = maxRetryDelay;
+            }
+            log.warn("Catalog snapshot rebuild failed, still serving the previous one; retrying in {}", retryDelay, e);
+            // a change arriving in the meantime is picked up by the retry
+            scheduleRebuild(retryDelay);
+        }
+        movieChangeFeed.awaitChanges(seq, this::requestRebuild);
+    }
+
+    private CatalogSnapshot build(long seq) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(64 * 1024);
+        long[] movies = new long[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            generator.writeStartArray();
+            movieService.streamAllMovies(movie -> {
+                try {
+                    movieWriter.writeValue(generator, movie);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                movies[0]++;
+            });
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = json.toByteArray();
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream output = new GZIPOutputStream(gzip, 64 * 1024)) {
+            output.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes);
+        // weak like the listing ETag: the gzip and identity bodies are the same representation
+        String eTag = "W/\"catalog-" + Long.toHexString(checksum.getValue()) + "-" + bytes.length + "\"";
+        return new CatalogSnapshot(bytes, gzip.toByteArray(), eTag, movies[0], seq);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
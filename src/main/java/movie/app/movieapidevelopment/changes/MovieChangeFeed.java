@@ -0,0 +1,88 @@
+package movie.app.movieapidevelopment.changes;
+
+import jakarta.annotation.PreDestroy;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Wakes long-poll and SSE readers once the relay has published changes past the seq they are waiting on
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieChangeFeed {
+
+    private final AtomicLong publishedSeq = new AtomicLong();
+    // changes committed here, counted before the relay has numbered them
+    private final AtomicLong localCommits = new AtomicLong();
+    // keeps two instances' local counts from producing the same collection version
+    private final String instanceId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    // callbacks run a query each, they must not hold up the relay thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public long publishedSeq() {
+        return publishedSeq.get();
+    }
+
+    // Moves with every change committed on this instance right away and with every other instance's change
+    // once the relay has seen it, without reading the movies table
+    public String collectionVersion() {
+        return instanceId + "-" + publishedSeq.get() + "-" + localCommits.get();
+    }
+
+    public void committedLocally() {
+        localCommits.incrementAndGet();
+    }
+
+    public void published(long seq) {
+        long current = publishedSeq.accumulateAndGet(seq, Math::max);
+        for (Waiter waiter : waiters) {
+            if (waiter.since < current) {
+                wake(waiter);
+            }
+        }
+    }
+
+    // runs the callback once a change after since is published; the returned Runnable cancels the wait
+    public Runnable awaitChanges(long since, Runnable callback) {
+        Waiter waiter = new Waiter(since, callback);
+        waiters.add(waiter);
+        // a publish between the caller's last read and the registration would otherwise be missed
+        if (publishedSeq.get() > since) {
+            wake(waiter);
+        }
+        return () -> waiters.remove(waiter);
+    }
+
+    int waiting() {
+        return waiters.size();
+    }
+
+    private void wake(Waiter waiter) {
+        // remove() decides the race between a publish and the registration check
+        if (waiters.remove(waiter)) {
+            executor.execute(waiter.callback);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Waiter {
+        private final long since;
+        private final Runnable callback;
+
+        private Waiter(long since, Runnable callback) {
+            this.since = since;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package movie.app.movieapidevelopment.changes;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeLogHead;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Publishes committed outbox rows by handing out consecutive seqs under a lock on the head row. Rows only
+// become visible to readers together with the head update, so a reader at seq n never misses n + 1.
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieChangeRelay {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final MovieChangeRepository movieChangeRepository;
+    private final MovieChangeFeed movieChangeFeed;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("movie-change-relay").daemon().factory());
+    private final AtomicBoolean relayQueued = new AtomicBoolean();
+
+    public MovieChangeRelay(MovieChangeRepository movieChangeRepository, MovieChangeFeed movieChangeFeed,
+                            EntityManager entityManager, PlatformTransactionManager transactionManager,
+                            @Value("${movie.changes.retention:P7D}") Duration retention) {
+        this.movieChangeRepository = movieChangeRepository;
+        this.movieChangeFeed = movieChangeFeed;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMovieChanged(MovieChangedEvent event) {
+        movieChangeFeed.committedLocally();
+        // a bulk import commits thousands of events at once; they collapse into one queued relay run
+        if (relayQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                relayQueued.set(false);
+                relayPending();
+            });
+        }
+    }
+
+    // also picks up rows committed by other instances and advances the feed past their seqs
+    @Scheduled(fixedDelayString = "${movie.changes.relay-interval:PT1S}")
+    public void relayPending() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == BATCH_SIZE);
+        } catch (DataIntegrityViolationException e) {
+            // another instance created the head row first
+            log.debug("Movie change relay lost the race to create the log head, retrying next round");
+        } catch (RuntimeException e) {
+            log.warn("Movie change relay failed, retrying next round", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${movie.changes.purge-interval:PT1H}",
+            fixedDelayString = "${movie.changes.purge-interval:PT1H}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> movieChangeRepository.deletePublishedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} movie changes older than {}", purged, cutoff);
+        }
+    }
+
+    private int relayBatch() {
+        long[] result = transactionTemplate.execute(status -> {
+            MovieChangeLogHead head = entityManager.find(MovieChangeLogHead.class, MovieChangeLogHead.ID,
+                    LockModeType.PESSIMISTIC_WRITE);
+            if (head == null) {
+                head = new MovieChangeLogHead();
+                head.setId(MovieChangeLogHead.ID);
+                head.setLastSeq(0L);
+                entityManager.persist(head);
+            }
+
+            // read under the lock so a concurrent relay cannot number the same rows
+            List<MovieChangeEntity> pending = movieChangeRepository.findBySeqIsNullOrderByIdAsc(Limit.of(BATCH_SIZE));
+            long seq = head.getLastSeq();
+            for (MovieChangeEntity change : pending) {
+                change.setSeq(++seq);
+            }
+            head.setLastSeq(seq);
+            return new long[]{pending.size(), seq};
+        });
+
+        movieChangeFeed.published(result[1]);
+        return (int) result[0];
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package movie.app.movieapidevelopment.changes;
+
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieChangeResponse;
+import movie.app.movieapidevelopment.dto.response.MovieChangesResponse;
+import movie.app.movieapidevelopment.exceptions.ChangeLogExpiredException;
+import movie.app.movieapidevelopment.service.MovieChangeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Server-sent events over the change log; the event id is the seq, so a reconnecting client resumes via Last-Event-ID
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieChangeStream {
+
+    static final int PAGE_SIZE = 500;
+
+    private final MovieChangeService movieChangeService;
+    private final MovieChangeFeed movieChangeFeed;
+    private final long timeoutMillis;
+
+    public MovieChangeStream(MovieChangeService movieChangeService, MovieChangeFeed movieChangeFeed,
+                             @Value("${movie.changes.sse-timeout:PT30M}") Duration timeout) {
+        this.movieChangeService = movieChangeService;
+        this.movieChangeFeed = movieChangeFeed;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(long since) {
+        // validates since and fails fast with 410 before the stream is opened
+        MovieChangesResponse first = movieChangeService.getChanges(since, PAGE_SIZE);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter, since);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscription.send(first);
+        return emitter;
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private volatile long cursor;
+        private volatile boolean closed;
+        private volatile Runnable cancel = () -> { };
+
+        private Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        // only one of send() and drain() runs at a time: the next wait is registered after a page is written
+        private void send(MovieChangesResponse page) {
+            try {
+                while (true) {
+                    for (MovieChangeResponse change : page.getChanges()) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.getSeq()))
+                                .name("movie-change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+                    cursor = page.getNextSince();
+                    if (page.getChanges().size() < PAGE_SIZE) {
+                        break;
+                    }
+                    page = movieChangeService.getChanges(cursor, PAGE_SIZE);
+                }
+                if (!closed) {
+                    cancel = movieChangeFeed.awaitChanges(cursor, this::drain);
+                }
+            } catch (ChangeLogExpiredException e) {
+                expire(e);
+            } catch (IOException | IllegalStateException e) {
+                // the client went away; the container reports completion through the callbacks
+                log.debug("Movie change stream closed: {}", e.getMessage());
+                close();
+            }
+        }
+
+        private void drain() {
+            if (closed) {
+                return;
+            }
+            try {
+                send(movieChangeService.getChanges(cursor, PAGE_SIZE));
+            } catch (ChangeLogExpiredException e) {
+                expire(e);
+            } catch (RuntimeException e) {
+                log.warn("Movie change stream failed", e);
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void expire(ChangeLogExpiredException e) {
+            try {
+                emitter.send(SseEmitter.event().name("expired").data(e.getMessage()));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ignored) {
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            cancel.run();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package movie.app.movieapidevelopment.changes;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieOutboxWriter {
+
+    private final MovieChangeRepository movieChangeRepository;
+
+    // joins the writer's transaction, so the change row commits or rolls back with the movie itself;
+    // the insert is flushed with the rest of the transaction and batched by hibernate.jdbc.batch_size
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onMovieChanged(MovieChangedEvent event) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setType(event.getType());
+        change.setMovieId(event.getMovieId());
+        change.setMovieVersion(event.getVersion());
+
+        MovieResponse movie = event.getMovie();
+        if (movie != null) {
+            change.setTitle(movie.getTitle());
+            change.setDirector(movie.getDirector());
+            change.setReleaseYear(movie.getReleaseYear());
+            change.setGenre(movie.getGenre());
+            change.setImdbRating(movie.getImdbRating());
+        }
+        MovieResponse previous = event.getPrevious();
+        if (previous != null) {
+            change.setPreviousDirector(previous.getDirector());
+            change.setPreviousReleaseYear(previous.getReleaseYear());
+            change.setPreviousGenre(previous.getGenre());
+            change.setPreviousImdbRating(previous.getImdbRating());
+        }
+        movieChangeRepository.save(change);
+    }
+}
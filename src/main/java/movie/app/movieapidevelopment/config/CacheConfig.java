@@ -0,0 +1,47 @@
+package movie.app.movieapidevelopment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String MOVIES_CACHE = "movies";
+
+    // The caches Boot would build from spring.cache.*, except that movies only ever moves to newer versions.
+    // spring.cache.type=none still turns caching off, e.g. for the uncached load test comparison.
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        if (cacheProperties.getType() == CacheType.NONE) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return MOVIES_CACHE.equals(name)
+                        ? new VersionedMovieCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        String spec = cacheProperties.getCaffeine().getSpec();
+        if (StringUtils.hasText(spec)) {
+            cacheManager.setCacheSpecification(spec);
+        }
+        if (!CollectionUtils.isEmpty(cacheProperties.getCacheNames())) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,101 @@
+package movie.app.movieapidevelopment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import movie.app.movieapidevelopment.admission.ClientKeys;
+import movie.app.movieapidevelopment.datasource.ReadYourWrites;
+import movie.app.movieapidevelopment.datasource.ReadYourWritesFilter;
+import movie.app.movieapidevelopment.datasource.ReplicaHealthChecker;
+import movie.app.movieapidevelopment.datasource.ReplicaNode;
+import movie.app.movieapidevelopment.datasource.ReplicaRoutingDataSource;
+import movie.app.movieapidevelopment.datasource.RoutingProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured DataSource when movie.datasource.routing.enabled is set; without it the
+// single spring.datasource pool is used as before
+@Configuration
+@Profile(StackProfiles.SERVLET)
+@ConditionalOnProperty(prefix = "movie.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    private static final int MAX_STICKY_CLIENTS = 100_000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(RoutingProperties properties) {
+        return new ReadYourWrites(properties.getStickyWindow(), MAX_STICKY_CLIENTS);
+    }
+
+    // owns the replica pools and closes them on shutdown; the primary pool is a bean of its own
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             RoutingProperties properties,
+                                                             ReadYourWrites readYourWrites,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReplicaNode> nodes = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            RoutingProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            // a replica that is down at startup is evicted by the health check instead of failing the boot
+            dataSource.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry ->
+                    dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            nodes.add(new ReplicaNode(dataSource.getPoolName(), dataSource));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, nodes, readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     RoutingProperties properties) {
+        return new ReplicaHealthChecker(replicaRoutingDataSource.getReplicas(), properties.getMaxReplicationLag(),
+                properties.getLagQuery());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites,
+                                                                           ClientKeys clientKeys) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites, clientKeys));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
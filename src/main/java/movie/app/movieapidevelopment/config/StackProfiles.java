@@ -0,0 +1,10 @@
+package movie.app.movieapidevelopment.config;
+
+public final class StackProfiles {
+
+    public static final String REACTIVE = "reactive";
+    public static final String SERVLET = "!" + REACTIVE;
+
+    private StackProfiles() {
+    }
+}
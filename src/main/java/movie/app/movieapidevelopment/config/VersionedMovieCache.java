@@ -0,0 +1,42 @@
+package movie.app.movieapidevelopment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+// Keeps the newest version seen of each movie. A reader that loaded a movie just before a write committed puts
+// an older version than the writer did, and loses whichever put lands last. Deleted movies stay behind as
+// tombstones with their last version for the same reason, and read as misses.
+public class VersionedMovieCache extends CaffeineCache {
+
+    public VersionedMovieCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = super.lookup(key);
+        return value instanceof VersionedMovie movie && movie.isDeleted() ? null : value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof VersionedMovie movie) {
+            getNativeCache().asMap().merge(key, movie, VersionedMovieCache::newer);
+        } else {
+            super.put(key, value);
+        }
+    }
+
+    // a delete does not bump the version, so a tombstone wins a tie against the movie it deletes
+    private static Object newer(Object current, Object incoming) {
+        if (!(current instanceof VersionedMovie movie)) {
+            return incoming;
+        }
+        VersionedMovie candidate = (VersionedMovie) incoming;
+        boolean wins = candidate.isDeleted()
+                ? candidate.getVersion() >= movie.getVersion()
+                : candidate.getVersion() > movie.getVersion();
+        return wins ? candidate : current;
+    }
+}
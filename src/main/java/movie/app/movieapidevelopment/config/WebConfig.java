@@ -0,0 +1,76 @@
+package movie.app.movieapidevelopment.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import movie.app.movieapidevelopment.admission.AdmissionFilter;
+import movie.app.movieapidevelopment.admission.ClientKeys;
+import movie.app.movieapidevelopment.admission.ClientRateLimiter;
+import movie.app.movieapidevelopment.admission.EndpointClass;
+import movie.app.movieapidevelopment.metrics.ApiMetricsInterceptor;
+import movie.app.movieapidevelopment.protobuf.MovieProtobufHttpMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@Profile(StackProfiles.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebConfig(ObjectProvider<MeterRegistry> meterRegistry, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+            ClientKeys clientKeys,
+            @Value("${movie.admission.enabled:true}") boolean enabled,
+            @Value("${movie.admission.rate-per-client:100}") int ratePerClient,
+            @Value("${movie.admission.burst-per-client:200}") int burstPerClient,
+            @Value("${movie.admission.max-clients:100000}") int maxClients,
+            @Value("${movie.admission.concurrency.list:8}") int listConcurrency,
+            @Value("${movie.admission.concurrency.point-read:256}") int pointReadConcurrency,
+            @Value("${movie.admission.concurrency.write:32}") int writeConcurrency) {
+        ClientRateLimiter rateLimiter = new ClientRateLimiter(ratePerClient, burstPerClient, maxClients,
+                System::nanoTime);
+        Map<EndpointClass, Integer> limits = Map.of(EndpointClass.LIST, listConcurrency,
+                EndpointClass.POINT_READ, pointReadConcurrency, EndpointClass.WRITE, writeConcurrency);
+
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(rateLimiter, clientKeys, limits, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setEnabled(enabled);
+        // ahead of everything else so a rejected request costs as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ApiMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // appended after JSON so clients that send no or a wildcard Accept header keep getting JSON
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new MovieProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,36 @@
+package movie.app.movieapidevelopment.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.BulkImportResponse;
+import movie.app.movieapidevelopment.service.MovieBulkImportService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieBulkImportController {
+
+    private final MovieBulkImportService movieBulkImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponse> importMovies(InputStream body) throws IOException {
+        // a root-level JSON array and newline-delimited objects are both read one movie at a time
+        try (MappingIterator<MovieRequest> requests = objectMapper.readerFor(MovieRequest.class).readValues(body)) {
+            return ResponseEntity.ok(movieBulkImportService.importMovies(requests));
+        }
+    }
+}
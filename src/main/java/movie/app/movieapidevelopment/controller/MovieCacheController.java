@@ -0,0 +1,36 @@
+package movie.app.movieapidevelopment.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.CacheConfig;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.CacheStatsResponse;
+import movie.app.movieapidevelopment.exceptions.ResourceNotFoundException;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies/cache")
+@Profile(StackProfiles.SERVLET)
+public class MovieCacheController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        if (!(cacheManager.getCache(CacheConfig.MOVIES_CACHE) instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache " + CacheConfig.MOVIES_CACHE + " is not configured");
+        }
+        Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return ResponseEntity.ok(new CacheStatsResponse(CacheConfig.MOVIES_CACHE, nativeCache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount()));
+    }
+}
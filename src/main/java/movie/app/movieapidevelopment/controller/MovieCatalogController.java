@@ -0,0 +1,47 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.catalog.AcceptEncoding;
+import movie.app.movieapidevelopment.catalog.CatalogSnapshot;
+import movie.app.movieapidevelopment.catalog.MovieCatalogSnapshot;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieCatalogController {
+
+    private final MovieCatalogSnapshot movieCatalogSnapshot;
+
+    // the body is written straight from the snapshot arrays; Tomcat leaves an already encoded body alone
+    @GetMapping(value = "/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCatalog(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                             String acceptEncoding, WebRequest request) {
+        CatalogSnapshot snapshot = movieCatalogSnapshot.current();
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        if (request.checkNotModified(snapshot.getETag())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+}
@@ -0,0 +1,69 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.changes.MovieChangeStream;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieChangesResponse;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.service.MovieChangeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.TimeUnit;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieChangeController {
+
+    private static final int MAX_WAIT_SECONDS = 30;
+
+    private final MovieChangeService movieChangeService;
+    private final MovieChangeFeed movieChangeFeed;
+    private final MovieChangeStream movieChangeStream;
+
+    // long-poll: with wait > 0 an empty result is held open until a change arrives or the wait runs out
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<MovieChangesResponse> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                           @RequestParam(defaultValue = "100") int limit,
+                                                           @RequestParam(defaultValue = "0") int wait) {
+        if (wait < 0 || wait > MAX_WAIT_SECONDS) {
+            throw new BadRequestException("wait must be between 0 and " + MAX_WAIT_SECONDS + " seconds");
+        }
+
+        MovieChangesResponse changes = movieChangeService.getChanges(since, limit);
+        DeferredResult<MovieChangesResponse> result = new DeferredResult<>(TimeUnit.SECONDS.toMillis(wait),
+                () -> changes);
+        if (!changes.getChanges().isEmpty() || wait == 0) {
+            result.setResult(changes);
+            return result;
+        }
+
+        Runnable cancel = movieChangeFeed.awaitChanges(since, () -> {
+            try {
+                result.setResult(movieChangeService.getChanges(since, limit));
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        result.onCompletion(cancel);
+        return result;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // a reconnecting EventSource sends the last seq it saw, which wins over the original query
+        long from = lastEventId != null ? lastEventId : since != null ? since : 0;
+        return movieChangeStream.subscribe(from);
+    }
+}
@@ -1,44 +1,126 @@
 package movie.app.movieapidevelopment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
 import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.request.MovieBatchRequest;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
 import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieBatchResponse;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
 import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.PreconditionFailedException;
+import movie.app.movieapidevelopment.protobuf.MovieProtobufCodec;
 import movie.app.movieapidevelopment.service.MovieService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
-import jakarta.validation.Valid;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @AllArgsConstructor
 @RestController
 @RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
 public class MovieController {
 
+    // in the order WebConfig registers the converters, so JSON still answers a wildcard
+    private static final List<MediaType> MOVIE_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MovieProtobufCodec.APPLICATION_PROTOBUF);
+
     private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiationManager;
 
     @GetMapping
-    public ResponseEntity<List<MovieResponse>> getAllMovies() {
-        List<MovieResponse> movies = movieService.getAllMovies();
-        return ResponseEntity.ok(movies);
+    public ResponseEntity<MoviePageResponse> getAllMovies(MovieFilter filter,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(defaultValue = "100") int limit,
+                                                          WebRequest request) {
+        // weak because JSON, CBOR and protobuf (compressed or not) are equivalent renderings of the same page
+        String eTag = "W/\"movies-" + movieService.getCollectionVersion() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        MoviePageResponse movies = movieService.getAllMovies(filter, after, limit);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(movies);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMovies() {
+        StreamingResponseBody body = outputStream ->
+                movieService.streamAllMovies(movie -> writeLine(outputStream, movie));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MovieProtobufCodec.APPLICATION_PROTOBUF_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMoviesProtobuf() {
+        StreamingResponseBody body = outputStream -> {
+            CodedOutputStream output = CodedOutputStream.newInstance(outputStream);
+            movieService.streamAllMovies(movie -> writeDelimited(output, movie));
+            output.flush();
+        };
+        return ResponseEntity.ok().contentType(MovieProtobufCodec.APPLICATION_PROTOBUF).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MovieResponse> getMovieById(@PathVariable Long id) {
-        MovieResponse movie = movieService.getMovieById(id);
-        return ResponseEntity.ok(movie);
+    public ResponseEntity<MovieResponse> getMovieById(@PathVariable Long id, NativeWebRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        // validators and body come from the same cached snapshot, so a tag never vouches for another body
+        VersionedMovie movie = movieService.getMovieById(id);
+        // The representation is picked here rather than by the converters, so the strong tag names the exact
+        // bytes sent: JSON, CBOR and protobuf each get their own.
+        MediaType contentType = movieContentType(request);
+        String eTag = movieETag(id, movie.getVersion(), contentType);
+        long lastModified = movie.getUpdatedAt() == null ? -1 : movie.getUpdatedAt().toEpochMilli();
+        // also writes ETag and Last-Modified onto a 200 response
+        if (request.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(contentType).body(movie.getMovie());
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<MovieBatchResponse> batchGetMovies(@RequestBody MovieBatchRequest batchRequest) {
+        return ResponseEntity.ok(movieService.getMoviesByIds(batchRequest.getIds()));
+    }
+
+    @GetMapping("/batch-get")
+    public ResponseEntity<MovieBatchResponse> batchGetMovies(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(movieService.getMoviesByIds(ids));
     }
 
     @PostMapping
-    public ResponseEntity<MovieResponse> addMovie(@RequestBody @Valid MovieRequest movieRequest) {
+    public ResponseEntity<MovieResponse> addMovie(@RequestBody MovieRequest movieRequest) {
         MovieResponse movieResponse = movieService.addMovie(movieRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(movieResponse);
     }
 
+    @PutMapping("/by-key")
+    public ResponseEntity<MovieResponse> upsertMovie(@RequestBody MovieRequest movieRequest) {
+        MovieUpsert upsert = movieService.upsertMovie(movieRequest);
+        return ResponseEntity.status(upsert.isCreated() ? HttpStatus.CREATED : HttpStatus.OK).body(upsert.getMovie());
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<MovieResponse> updateMovie(@PathVariable Long id, @RequestBody @Valid MovieRequest movieRequest) {
-        MovieResponse updatedMovie = movieService.updateMovie(id, movieRequest);
+    public ResponseEntity<MovieResponse> updateMovie(@PathVariable Long id, @RequestBody MovieRequest movieRequest,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MovieResponse updatedMovie = movieService.updateMovie(id, movieRequest, expectedVersion(id, ifMatch));
         return ResponseEntity.ok(updatedMovie);
     }
 
@@ -47,4 +129,68 @@ public class MovieController {
         movieService.deleteMovie(id);
         return ResponseEntity.noContent().build();
     }
+
+    private MediaType movieContentType(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        // already sorted by quality and specificity
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(request)) {
+            for (MediaType type : MOVIE_TYPES) {
+                if (accepted.isCompatibleWith(type)) {
+                    return type;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(MOVIE_TYPES);
+    }
+
+    // JSON keeps the plain "id-version" tag; the other representations add their subtype
+    private static String movieETag(Long id, Long version, MediaType contentType) {
+        return id + "-" + version + representationSuffix(contentType);
+    }
+
+    private static String representationSuffix(MediaType contentType) {
+        return MediaType.APPLICATION_JSON.equals(contentType) ? "" : "-" + contentType.getSubtype();
+    }
+
+    // If-Match needs a strong comparison, so anything but one of our own "id-version" tags, for any
+    // representation, fails the precondition
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            String version = tag.substring(prefix.length(), tag.length() - 1);
+            for (MediaType type : MOVIE_TYPES) {
+                String suffix = representationSuffix(type);
+                if (!suffix.isEmpty() && version.endsWith(suffix)) {
+                    version = version.substring(0, version.length() - suffix.length());
+                    break;
+                }
+            }
+            try {
+                return Long.valueOf(version);
+            } catch (NumberFormatException e) {
+                // falls through to the failed precondition below
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of movie " + id);
+    }
+
+    private static void writeDelimited(CodedOutputStream output, MovieResponse movie) {
+        try {
+            MovieProtobufCodec.writeDelimitedMovie(output, movie);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, MovieResponse movie) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(movie));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.service.MovieLeaderboardService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieLeaderboardController {
+
+    private final MovieLeaderboardService movieLeaderboardService;
+
+    @GetMapping("/top")
+    public ResponseEntity<List<MovieResponse>> getTopMovies(@RequestParam(required = false) String genre,
+                                                            @RequestParam(required = false) Integer year,
+                                                            @RequestParam(defaultValue = "10") int n) {
+        return ResponseEntity.ok(movieLeaderboardService.getTopMovies(genre, year, n));
+    }
+}
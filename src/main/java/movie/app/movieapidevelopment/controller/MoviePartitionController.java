@@ -0,0 +1,27 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MoviePartitionResponse;
+import movie.app.movieapidevelopment.service.MoviePartitionService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies/partitions")
+@Profile(StackProfiles.SERVLET)
+public class MoviePartitionController {
+
+    private final MoviePartitionService moviePartitionService;
+
+    @GetMapping
+    public ResponseEntity<List<MoviePartitionResponse>> getPartitions() {
+        return ResponseEntity.ok(moviePartitionService.getPartitions());
+    }
+}
@@ -0,0 +1,29 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.service.MovieSearchService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieSearchController {
+
+    private final MovieSearchService movieSearchService;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<MovieResponse>> searchMovies(@RequestParam("q") String query,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(movieSearchService.searchMovies(query, limit));
+    }
+}
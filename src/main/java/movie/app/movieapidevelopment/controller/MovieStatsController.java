@@ -0,0 +1,26 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieStatsResponse;
+import movie.app.movieapidevelopment.service.MovieStatsService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.SERVLET)
+public class MovieStatsController {
+
+    private final MovieStatsService movieStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<MovieStatsResponse> getStats(@RequestParam(defaultValue = "10") int topDirectors) {
+        return ResponseEntity.ok(movieStatsService.getStats(topDirectors));
+    }
+}
@@ -0,0 +1,59 @@
+package movie.app.movieapidevelopment.controller;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.service.ReactiveMovieService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping(value = "/api/v1/movies")
+@Profile(StackProfiles.REACTIVE)
+public class ReactiveMovieController {
+
+    private final ReactiveMovieService movieService;
+
+    @GetMapping
+    public Mono<ResponseEntity<MoviePageResponse>> getAllMovies(MovieFilter filter,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        return movieService.getAllMovies(filter, after, limit).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MovieResponse> streamAllMovies() {
+        return movieService.streamAllMovies();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MovieResponse>> getMovieById(@PathVariable Long id) {
+        return movieService.getMovieById(id).map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<MovieResponse>> addMovie(@RequestBody MovieRequest movieRequest) {
+        return movieService.addMovie(movieRequest)
+                .map(movieResponse -> ResponseEntity.status(HttpStatus.CREATED).body(movieResponse));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<MovieResponse>> updateMovie(@PathVariable Long id,
+                                                           @RequestBody MovieRequest movieRequest) {
+        return movieService.updateMovie(id, movieRequest).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteMovie(@PathVariable Long id) {
+        return movieService.deleteMovie(id).then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
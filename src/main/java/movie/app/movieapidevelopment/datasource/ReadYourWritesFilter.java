@@ -0,0 +1,33 @@
+package movie.app.movieapidevelopment.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import movie.app.movieapidevelopment.admission.ClientKeys;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+    private final ClientKeys clientKeys;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, ClientKeys clientKeys) {
+        this.readYourWrites = readYourWrites;
+        this.clientKeys = clientKeys;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // the same client key as admission control, so both features agree on who a client is
+        readYourWrites.bind(clientKeys.of(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWrites.unbind();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package movie.app.movieapidevelopment.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+// Evicts replicas that are unreachable or too far behind, and brings them back once they recover
+@Slf4j
+public class ReplicaHealthChecker {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final List<ReplicaNode> replicas;
+    private final Duration maxReplicationLag;
+    private final String lagQuery;
+
+    public ReplicaHealthChecker(List<ReplicaNode> replicas, Duration maxReplicationLag, String lagQuery) {
+        this.replicas = replicas;
+        this.maxReplicationLag = maxReplicationLag;
+        this.lagQuery = lagQuery;
+    }
+
+    @Scheduled(fixedDelayString = "${movie.datasource.routing.health-check-interval:PT2S}")
+    public void check() {
+        for (ReplicaNode replica : replicas) {
+            String problem = probe(replica);
+            if (problem == null) {
+                if (replica.markUp()) {
+                    log.info("Replica {} is healthy again and serves reads", replica.getName());
+                }
+            } else if (replica.markDown()) {
+                log.warn("Replica {} evicted from read routing: {}", replica.getName(), problem);
+            }
+        }
+    }
+
+    // null when healthy, otherwise the reason
+    String probe(ReplicaNode replica) {
+        try (Connection connection = replica.getDataSource().getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "connection validation failed";
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet lag = statement.executeQuery(lagQuery)) {
+                double lagSeconds = lag.next() ? lag.getDouble(1) : 0;
+                return lagSeconds * 1000 > maxReplicationLag.toMillis()
+                        ? "replication lag of " + lagSeconds + "s"
+                        : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+}
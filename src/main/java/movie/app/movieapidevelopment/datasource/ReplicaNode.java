@@ -0,0 +1,40 @@
+package movie.app.movieapidevelopment.datasource;
+
+import javax.sql.DataSource;
+
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    // both return whether the state changed, so transitions are logged once
+    public boolean markDown() {
+        boolean changed = healthy;
+        healthy = false;
+        return changed;
+    }
+
+    public boolean markUp() {
+        boolean changed = !healthy;
+        healthy = true;
+        return changed;
+    }
+}
@@ -0,0 +1,32 @@
+package movie.app.movieapidevelopment.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("movie.datasource.routing")
+public class RoutingProperties {
+
+    private boolean enabled;
+    private List<Replica> replicas = new ArrayList<>();
+    // how long a client's reads stay on the primary after it committed a write
+    private Duration stickyWindow = Duration.ofSeconds(2);
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+    private Duration maxReplicationLag = Duration.ofSeconds(5);
+    // seconds of replay lag; blank skips the lag check (e.g. for H2)
+    private String lagQuery = "select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)";
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // kept short so a dead replica falls back to the primary quickly
+        private Duration connectionTimeout = Duration.ofMillis(500);
+    }
+}
@@ -0,0 +1,72 @@
+package movie.app.movieapidevelopment.domain.dimension;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// In-memory copy of one lookup table. Every id maps to exactly one String instance, so all movies with the
+// same genre or director share it no matter how many rows are loaded.
+public class DimensionDictionary {
+
+    // bound to parameters when a filter names a value that was never stored, so it matches no row
+    public static final int UNKNOWN_ID = -1;
+
+    private final String name;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private final Function<String, Integer> idLoader;
+    private final IntFunction<String> nameLoader;
+
+    public DimensionDictionary(String name, Function<String, Integer> idLoader, IntFunction<String> nameLoader) {
+        this.name = name;
+        this.idLoader = idLoader;
+        this.nameLoader = nameLoader;
+    }
+
+    public void put(int id, String value) {
+        String canonical = value.intern();
+        names.put(id, canonical);
+        ids.put(canonical, id);
+    }
+
+    // the shared instance when the value is known, the argument otherwise; never reads the database
+    public String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        Integer id = ids.get(value);
+        return id == null ? value : names.get(id);
+    }
+
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        // written by another instance since startup; misses for unknown values are not cached
+        Integer loaded = idLoader.apply(value);
+        if (loaded == null) {
+            return UNKNOWN_ID;
+        }
+        put(loaded, value);
+        return loaded;
+    }
+
+    public String nameOf(int id) {
+        String value = names.get(id);
+        if (value != null) {
+            return value;
+        }
+        String loaded = nameLoader.apply(id);
+        if (loaded == null) {
+            throw new IllegalStateException("No " + name + " with id " + id);
+        }
+        put(id, loaded);
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,24 @@
+package movie.app.movieapidevelopment.domain.dimension;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@Converter
+@AllArgsConstructor
+public class DirectorConverter implements AttributeConverter<String, Integer> {
+
+    private final MovieDimensions movieDimensions;
+
+    @Override
+    public Integer convertToDatabaseColumn(String director) {
+        return director == null ? null : movieDimensions.directors().idOf(director);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : movieDimensions.directors().nameOf(id);
+    }
+}
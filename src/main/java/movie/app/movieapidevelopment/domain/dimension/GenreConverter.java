@@ -0,0 +1,24 @@
+package movie.app.movieapidevelopment.domain.dimension;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@Converter
+@AllArgsConstructor
+public class GenreConverter implements AttributeConverter<String, Integer> {
+
+    private final MovieDimensions movieDimensions;
+
+    @Override
+    public Integer convertToDatabaseColumn(String genre) {
+        return genre == null ? null : movieDimensions.genres().idOf(genre);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id == null ? null : movieDimensions.genres().nameOf(id);
+    }
+}
@@ -0,0 +1,106 @@
+package movie.app.movieapidevelopment.domain.dimension;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.Named;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+// Genre and director dictionaries, loaded completely at startup. Plain JDBC on purpose: the converters call in
+// here while Hibernate flushes or binds parameters, where going through the EntityManager would re-enter it.
+// Inside a transaction JdbcTemplate runs on the transaction's own connection.
+@Slf4j
+@Component
+public class MovieDimensions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DimensionDictionary genres;
+    private final DimensionDictionary directors;
+
+    // no JdbcTemplate on the reactive stack; the dictionaries then only canonicalize what they are given
+    public MovieDimensions(ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate.getIfAvailable();
+        this.genres = dictionary("genres");
+        this.directors = dictionary("directors");
+    }
+
+    public DimensionDictionary genres() {
+        return genres;
+    }
+
+    public DimensionDictionary directors() {
+        return directors;
+    }
+
+    @Named("genre")
+    public String canonicalGenre(String genre) {
+        return genres.canonical(genre);
+    }
+
+    @Named("director")
+    public String canonicalDirector(String director) {
+        return directors.canonical(director);
+    }
+
+    // call before the write transaction starts: new names are committed on their own, so a movie insert never
+    // waits on a second pooled connection, and an unused name left by a rolled back write is harmless
+    public void register(String genre, String director) {
+        register(genres, "genres", genre);
+        register(directors, "directors", director);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (jdbcTemplate == null) {
+            return;
+        }
+        load(genres, "genres");
+        load(directors, "directors");
+        log.info("Loaded {} genres and {} directors", genres.size(), directors.size());
+    }
+
+    private void load(DimensionDictionary dictionary, String table) {
+        jdbcTemplate.query("SELECT id, name FROM " + table,
+                row -> dictionary.put(row.getInt("id"), row.getString("name")));
+    }
+
+    private void register(DimensionDictionary dictionary, String table, String value) {
+        // blank values are left to request validation
+        if (value == null || value.isBlank() || dictionary.idOf(value) != DimensionDictionary.UNKNOWN_ID) {
+            return;
+        }
+        try {
+            KeyHolder key = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO " + table + " (name) VALUES (?)", new String[]{"id"});
+                statement.setString(1, value);
+                return statement;
+            }, key);
+            dictionary.put(key.getKey().intValue(), value);
+        } catch (DuplicateKeyException e) {
+            // another writer inserted the same name first
+            dictionary.idOf(value);
+        }
+    }
+
+    private DimensionDictionary dictionary(String table) {
+        return new DimensionDictionary(table,
+                value -> first(jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE name = ?",
+                        Integer.class, value)),
+                id -> first(jdbcTemplate.queryForList("SELECT name FROM " + table + " WHERE id = ?",
+                        String.class, id)));
+    }
+
+    private static <T> T first(List<T> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,17 @@
+package movie.app.movieapidevelopment.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Table(name = "directors", uniqueConstraints = @UniqueConstraint(name = "uk_directors_name", columnNames = "name"))
+@Data
+public class DirectorEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+}
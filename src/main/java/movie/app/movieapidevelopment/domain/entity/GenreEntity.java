@@ -0,0 +1,18 @@
+package movie.app.movieapidevelopment.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Lookup table behind MovieEntity.genre; read through MovieDimensions, mapped here so the schema is complete
+@Entity
+@Table(name = "genres", uniqueConstraints = @UniqueConstraint(name = "uk_genres_name", columnNames = "name"))
+@Data
+public class GenreEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "name", nullable = false, length = 30)
+    private String name;
+}
@@ -0,0 +1,73 @@
+package movie.app.movieapidevelopment.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+// Outbox row written in the same transaction as the movie change. seq stays null until the relay publishes
+// the row. seq is gap-free but follows id order within each relay batch, not commit order: ids are handed out
+// in pooled blocks of 50 per instance, so a later commit can get a lower seq. Consumers order changes to the
+// same movie by movie_version.
+@Entity
+@Table(name = "movie_changes", indexes = {
+        @Index(name = "idx_movie_changes_seq", columnList = "seq", unique = true),
+        @Index(name = "idx_movie_changes_changed_at", columnList = "changed_at")
+})
+@Data
+public class MovieChangeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_changes_id_seq")
+    @SequenceGenerator(name = "movie_changes_id_seq", sequenceName = "movie_changes_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "seq")
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 10)
+    private MovieChangedEvent.Type type;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    // the order of changes to one movie; an update arriving after a newer one for the same movie is dropped
+    @Column(name = "movie_version")
+    private Long movieVersion;
+
+    // state after the change; all null for deletes
+    @Column(name = "title", length = 100)
+    private String title;
+
+    @Column(name = "director", length = 50)
+    private String director;
+
+    @Column(name = "release_year")
+    private Integer releaseYear;
+
+    @Column(name = "genre", length = 30)
+    private String genre;
+
+    @Column(name = "imdb_rating")
+    private Float imdbRating;
+
+    // state the change replaced, so it can be applied as a delta; all null for creates
+    @Column(name = "previous_director", length = 50)
+    private String previousDirector;
+
+    @Column(name = "previous_release_year")
+    private Integer previousReleaseYear;
+
+    @Column(name = "previous_genre", length = 30)
+    private String previousGenre;
+
+    @Column(name = "previous_imdb_rating")
+    private Float previousImdbRating;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
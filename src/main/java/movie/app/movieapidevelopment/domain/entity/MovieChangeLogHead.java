@@ -0,0 +1,20 @@
+package movie.app.movieapidevelopment.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Single row holding the last published change seq; the relay locks it so seqs are handed out by one writer at a time
+@Entity
+@Table(name = "movie_change_log_head")
+@Data
+public class MovieChangeLogHead {
+
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
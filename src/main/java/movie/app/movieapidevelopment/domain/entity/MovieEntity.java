@@ -2,28 +2,64 @@ package movie.app.movieapidevelopment.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import movie.app.movieapidevelopment.domain.dimension.DirectorConverter;
+import movie.app.movieapidevelopment.domain.dimension.GenreConverter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
+
+// Range-partitioned on release_year in PostgreSQL (V5): a release_year condition lets queries skip whole decades,
+// and every unique key has to include it
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", uniqueConstraints = {
+        @UniqueConstraint(name = MovieEntity.TITLE_DIRECTOR_KEY, columnNames = {"title", "director_id", "release_year"})
+}, indexes = {
+        @Index(name = "idx_movies_director", columnList = "director_id"),
+        @Index(name = "idx_movies_release_year_id", columnList = "release_year, id"),
+        @Index(name = "idx_movies_imdb_rating_id", columnList = "imdb_rating, id"),
+        @Index(name = "idx_movies_genre_rating_id", columnList = "genre_id, imdb_rating, id"),
+        @Index(name = "idx_movies_title_id", columnList = "title, id"),
+        @Index(name = "idx_movies_updated_at", columnList = "updated_at")
+})
 @Data
 public class MovieEntity {
 
+    public static final String TITLE_DIRECTOR_KEY = "uk_movies_title_director_year";
+    // a partition reports violations under its own name, e.g. movies_1990s_title_director_id_release_year_key
+    public static final String TITLE_DIRECTOR_KEY_MARKER = "title_director";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    // matches the sequence increment (V4) and hibernate.jdbc.batch_size
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = 100)
     private Long id;
 
     @Column(name = "title", nullable = false, length = 100)
     private String title;
 
-    @Column(name = "director", nullable = false, length = 50)
+    // stored as ids into the directors and genres lookup tables; the converters keep the API and JPQL on names
+    @Convert(converter = DirectorConverter.class)
+    @Column(name = "director_id", nullable = false)
     private String director;
 
     @Column(name = "release_year", nullable = false)
     private Integer releaseYear;
 
-    @Column(name = "genre", nullable = false, length = 30)
+    @Convert(converter = GenreConverter.class)
+    @Column(name = "genre_id", nullable = false)
     private String genre;
 
     @Column(name = "imdb_rating", nullable = false)
     private Float imdbRating;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
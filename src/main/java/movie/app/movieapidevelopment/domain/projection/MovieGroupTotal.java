@@ -0,0 +1,13 @@
+package movie.app.movieapidevelopment.domain.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MovieGroupTotal {
+
+    private final String key;
+    private final Long count;
+    private final Double ratingSum;
+}
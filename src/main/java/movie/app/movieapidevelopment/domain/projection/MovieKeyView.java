@@ -0,0 +1,10 @@
+package movie.app.movieapidevelopment.domain.projection;
+
+public interface MovieKeyView {
+
+    String getTitle();
+
+    String getDirector();
+
+    Integer getReleaseYear();
+}
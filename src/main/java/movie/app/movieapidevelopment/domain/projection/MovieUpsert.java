@@ -0,0 +1,22 @@
+package movie.app.movieapidevelopment.domain.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class MovieUpsert {
+
+    private final MovieResponse movie;
+    // null when the upsert inserted a new row
+    private final MovieResponse previous;
+    private final Long version;
+    private final Instant updatedAt;
+
+    public boolean isCreated() {
+        return previous == null;
+    }
+}
@@ -0,0 +1,12 @@
+package movie.app.movieapidevelopment.domain.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MovieYearTotal {
+
+    private final Integer releaseYear;
+    private final Long count;
+}
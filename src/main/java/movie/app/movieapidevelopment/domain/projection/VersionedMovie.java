@@ -0,0 +1,26 @@
+package movie.app.movieapidevelopment.domain.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+
+import java.time.Instant;
+
+// what the movies cache holds: the validators are taken from the same snapshot as the body they describe
+@Getter
+@AllArgsConstructor
+public class VersionedMovie {
+
+    private final MovieResponse movie;
+    private final long version;
+    private final Instant updatedAt;
+
+    // the tombstone of a deleted movie, holding the version it was deleted at
+    public static VersionedMovie deleted(long version) {
+        return new VersionedMovie(null, version, null);
+    }
+
+    public boolean isDeleted() {
+        return movie == null;
+    }
+}
@@ -0,0 +1,31 @@
+package movie.app.movieapidevelopment.domain.repository;
+
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeLogHead;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MovieChangeRepository extends JpaRepository<MovieChangeEntity, Long> {
+
+    List<MovieChangeEntity> findBySeqGreaterThanOrderBySeqAsc(long since, Limit limit);
+
+    List<MovieChangeEntity> findBySeqIsNullOrderByIdAsc(Limit limit);
+
+    @Query("select h.lastSeq from MovieChangeLogHead h where h.id = " + MovieChangeLogHead.ID)
+    Optional<Long> findLastSeq();
+
+    @Query("select c.id from MovieChangeEntity c where c.seq is null")
+    List<Long> findUnpublishedIds();
+
+    @Modifying
+    @Query("delete from MovieChangeEntity c where c.seq is not null and c.changedAt < :cutoff")
+    int deletePublishedBefore(Instant cutoff);
+}
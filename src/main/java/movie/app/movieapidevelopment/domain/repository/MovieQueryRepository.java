@@ -0,0 +1,20 @@
+package movie.app.movieapidevelopment.domain.repository;
+
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface MovieQueryRepository {
+
+    List<MovieResponse> findResponses(Specification<MovieEntity> specification, Sort sort, int limit);
+
+    List<VersionedMovie> findVersionedByIds(Long[] ids);
+
+    MovieUpsert upsertByKey(MovieRequest dto);
+}
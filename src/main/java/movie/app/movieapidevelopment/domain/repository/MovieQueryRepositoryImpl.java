@@ -0,0 +1,158 @@
+package movie.app.movieapidevelopment.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.ConcurrentUpdateException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+public class MovieQueryRepositoryImpl implements MovieQueryRepository {
+
+    // PostgreSQL only, one round trip and no row lock taken up front. The update only applies when the row is
+    // still at the version the statement's snapshot read in previous; a row committed or changed after that
+    // snapshot fails the WHERE and nothing comes back, which is a version conflict. The key includes
+    // release_year, so only that year's partition is touched. RETURNING (xmax = 0) is not an option here:
+    // PostgreSQL cannot return system columns from a partitioned table, but an insert writes version 0 and the
+    // guarded update never does. nextval is evaluated even on conflict; each call reserves a whole pooled block.
+    private static final String UPSERT_BY_KEY = """
+            WITH previous AS (
+                SELECT id, release_year, genre_id, imdb_rating, version
+                FROM movies
+                WHERE title = :title AND director_id = :directorId AND release_year = :releaseYear
+            ), upserted AS (
+                INSERT INTO movies (id, title, director_id, release_year, genre_id, imdb_rating, version, updated_at)
+                VALUES (nextval('movies_seq'), :title, :directorId, :releaseYear, :genreId, :imdbRating, 0, CURRENT_TIMESTAMP)
+                ON CONFLICT (title, director_id, release_year) DO UPDATE
+                SET genre_id = EXCLUDED.genre_id,
+                    imdb_rating = EXCLUDED.imdb_rating,
+                    version = movies.version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE movies.version = (SELECT version FROM previous)
+                RETURNING id, title, director_id, release_year, genre_id, imdb_rating, version, updated_at,
+                          version = 0 AS inserted
+            )
+            SELECT upserted.*,
+                   previous.release_year AS previous_release_year,
+                   previous.genre_id AS previous_genre_id,
+                   previous.imdb_rating AS previous_imdb_rating
+            FROM upserted
+            LEFT JOIN previous ON previous.id = upserted.id
+            """;
+
+    // a single array parameter keeps one statement (and one cached plan) for any number of ids
+    private static final String FIND_BY_IDS = """
+            SELECT id, title, director_id, release_year, genre_id, imdb_rating, version, updated_at
+            FROM movies
+            WHERE id = ANY(:ids)
+            """;
+
+    private final EntityManager entityManager;
+    private final MovieDimensions movieDimensions;
+
+    @Override
+    public List<MovieResponse> findResponses(Specification<MovieEntity> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MovieResponse> query = cb.createQuery(MovieResponse.class);
+        Root<MovieEntity> movie = query.from(MovieEntity.class);
+
+        // constructor projection: rows never become managed entities, so there is nothing to dirty-check
+        query.select(cb.construct(MovieResponse.class,
+                movie.get("id"),
+                movie.get("title"),
+                movie.get("director"),
+                movie.get("releaseYear"),
+                movie.get("genre"),
+                movie.get("imdbRating")));
+
+        Predicate predicate = specification.toPredicate(movie, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, movie, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<VersionedMovie> findVersionedByIds(Long[] ids) {
+        List<Tuple> rows = entityManager.createNativeQuery(FIND_BY_IDS, Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new VersionedMovie(toResponse(row), ((Number) row.get("version")).longValue(),
+                        toInstant(row.get("updated_at"))))
+                .toList();
+    }
+
+    @Override
+    public MovieUpsert upsertByKey(MovieRequest dto) {
+        // the caller registered both names, so neither id is UNKNOWN_ID
+        int directorId = movieDimensions.directors().idOf(dto.getDirector());
+        List<Tuple> rows = entityManager.createNativeQuery(UPSERT_BY_KEY, Tuple.class)
+                .setParameter("title", dto.getTitle())
+                .setParameter("directorId", directorId)
+                .setParameter("releaseYear", dto.getReleaseYear())
+                .setParameter("genreId", movieDimensions.genres().idOf(dto.getGenre()))
+                .setParameter("imdbRating", dto.getImdbRating())
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new ConcurrentUpdateException("Movie '" + dto.getTitle() + "' was changed concurrently");
+        }
+
+        Tuple row = rows.get(0);
+        MovieResponse movie = toResponse(row);
+        long version = ((Number) row.get("version")).longValue();
+        Instant updatedAt = toInstant(row.get("updated_at"));
+        if ((Boolean) row.get("inserted")) {
+            return new MovieUpsert(movie, null, version, updatedAt);
+        }
+        return new MovieUpsert(movie, new MovieResponse(movie.getId(), movie.getTitle(), movie.getDirector(),
+                ((Number) row.get("previous_release_year")).intValue(),
+                movieDimensions.genres().nameOf(((Number) row.get("previous_genre_id")).intValue()),
+                ((Number) row.get("previous_imdb_rating")).floatValue()), version, updatedAt);
+    }
+
+    private MovieResponse toResponse(Tuple row) {
+        return new MovieResponse(((Number) row.get("id")).longValue(),
+                (String) row.get("title"),
+                movieDimensions.directors().nameOf(((Number) row.get("director_id")).intValue()),
+                ((Number) row.get("release_year")).intValue(),
+                movieDimensions.genres().nameOf(((Number) row.get("genre_id")).intValue()),
+                ((Number) row.get("imdb_rating")).floatValue());
+    }
+
+    // the driver decides how a native timestamp with time zone comes back
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant();
+        }
+        return null;
+    }
+}
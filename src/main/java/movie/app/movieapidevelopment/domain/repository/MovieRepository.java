@@ -1,11 +1,43 @@
 package movie.app.movieapidevelopment.domain.repository;
 
+import jakarta.persistence.QueryHint;
 import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieGroupTotal;
+import movie.app.movieapidevelopment.domain.projection.MovieKeyView;
+import movie.app.movieapidevelopment.domain.projection.MovieYearTotal;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface MovieRepository extends JpaRepository<MovieEntity, Long> {
+public interface MovieRepository extends JpaRepository<MovieEntity, Long>, MovieQueryRepository {
+
+    // the release years let PostgreSQL skip the partitions of every other decade
+    List<MovieKeyView> findByTitleInAndDirectorInAndReleaseYearIn(Collection<String> titles,
+                                                                 Collection<String> directors,
+                                                                 Collection<Integer> releaseYears);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<MovieEntity> streamAllByOrderByIdAsc();
+
+    @Query("select new movie.app.movieapidevelopment.domain.projection.MovieGroupTotal(m.genre, count(m), sum(m.imdbRating)) "
+            + "from MovieEntity m group by m.genre")
+    List<MovieGroupTotal> totalsByGenre();
+
+    @Query("select new movie.app.movieapidevelopment.domain.projection.MovieGroupTotal(m.director, count(m), sum(m.imdbRating)) "
+            + "from MovieEntity m group by m.director")
+    List<MovieGroupTotal> totalsByDirector();
 
-    boolean existsByTitleAndDirector(String title, String director);
+    @Query("select new movie.app.movieapidevelopment.domain.projection.MovieYearTotal(m.releaseYear, count(m)) "
+            + "from MovieEntity m group by m.releaseYear")
+    List<MovieYearTotal> totalsByReleaseYear();
 }
@@ -0,0 +1,64 @@
+package movie.app.movieapidevelopment.domain.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.pagination.MovieSort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MovieSpecifications {
+
+    private MovieSpecifications() {
+    }
+
+    public static Specification<MovieEntity> matching(MovieFilter filter) {
+        List<Specification<MovieEntity>> specifications = new ArrayList<>();
+        if (filter.getGenre() != null) {
+            specifications.add((movie, query, cb) -> cb.equal(movie.get("genre"), filter.getGenre()));
+        }
+        if (filter.getDirector() != null) {
+            specifications.add((movie, query, cb) -> cb.equal(movie.get("director"), filter.getDirector()));
+        }
+        if (filter.getYearFrom() != null) {
+            specifications.add((movie, query, cb) ->
+                    cb.greaterThanOrEqualTo(movie.get("releaseYear"), filter.getYearFrom()));
+        }
+        if (filter.getYearTo() != null) {
+            specifications.add((movie, query, cb) ->
+                    cb.lessThanOrEqualTo(movie.get("releaseYear"), filter.getYearTo()));
+        }
+        if (filter.getMinRating() != null) {
+            specifications.add((movie, query, cb) ->
+                    cb.greaterThanOrEqualTo(movie.get("imdbRating"), filter.getMinRating()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    public static Specification<MovieEntity> after(MovieSort sort, long lastId, Object lastValue) {
+        return (movie, query, cb) -> {
+            Path<Long> id = movie.get("id");
+            boolean descending = sort.isDescending();
+
+            return switch (sort.getField()) {
+                case ID -> descending ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+                case TITLE -> keyset(cb, movie.get("title"), id, (String) lastValue, lastId, descending);
+                case RELEASE_YEAR -> keyset(cb, movie.get("releaseYear"), id, (Integer) lastValue, lastId, descending);
+                case IMDB_RATING -> keyset(cb, movie.get("imdbRating"), id, (Float) lastValue, lastId, descending);
+            };
+        };
+    }
+
+    // "value >= v and (value > v or id > lastId)" rather than "value > v or (value = v and id > lastId)": the
+    // plain bound becomes an index condition on (field, id), and for release_year it also rules out partitions
+    private static <T extends Comparable<? super T>> Predicate keyset(CriteriaBuilder cb, Path<T> path, Path<Long> id,
+                                                                      T value, long lastId, boolean descending) {
+        Predicate bound = descending ? cb.lessThanOrEqualTo(path, value) : cb.greaterThanOrEqualTo(path, value);
+        Predicate beyond = descending ? cb.lessThan(path, value) : cb.greaterThan(path, value);
+        return cb.and(bound, cb.or(beyond, cb.greaterThan(id, lastId)));
+    }
+}
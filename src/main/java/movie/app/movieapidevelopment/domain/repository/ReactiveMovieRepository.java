@@ -0,0 +1,205 @@
+package movie.app.movieapidevelopment.domain.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.pagination.MovieSort;
+import movie.app.movieapidevelopment.pagination.MovieSortField;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Repository
+@AllArgsConstructor
+@Profile(StackProfiles.REACTIVE)
+public class ReactiveMovieRepository {
+
+    private static final String COLUMNS =
+            "m.id, m.title, d.name AS director, m.release_year, g.name AS genre, m.imdb_rating";
+    private static final String MOVIES = "movies m JOIN directors d ON d.id = m.director_id "
+            + "JOIN genres g ON g.id = m.genre_id";
+    // Known names are only read, like MovieDimensions does; a name is inserted on a miss. DO UPDATE rather than
+    // DO NOTHING there so a name another writer added since the statement's snapshot still yields its id.
+    private static final String DIMENSIONS = "WITH "
+            + dimension("director", "directors", ":director") + ", "
+            + dimension("genre", "genres", ":genre") + ", ";
+    private static final String PREVIOUS = "previous AS (SELECT m.id, m.title, d.name AS director, m.release_year, "
+            + "g.name AS genre, m.imdb_rating FROM " + MOVIES + " WHERE m.id = :id FOR UPDATE OF m)";
+    // The outbox row is written by the same statement as the movie, so both commit or neither does. Rows stay
+    // unnumbered until the relay of a servlet instance on the same database publishes them.
+    private static final String CHANGE = "change AS (INSERT INTO movie_changes (id, type, movie_id, movie_version, "
+            + "title, director, release_year, genre, imdb_rating, previous_director, previous_release_year, "
+            + "previous_genre, previous_imdb_rating, changed_at) ";
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<MovieResponse> findPage(MovieFilter filter, MovieSort sort, Long lastId, Object lastValue, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM " + MOVIES + " WHERE 1 = 1");
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        if (filter.getGenre() != null) {
+            sql.append(" AND g.name = :genre");
+            bindings.put("genre", filter.getGenre());
+        }
+        if (filter.getDirector() != null) {
+            sql.append(" AND d.name = :director");
+            bindings.put("director", filter.getDirector());
+        }
+        if (filter.getYearFrom() != null) {
+            sql.append(" AND m.release_year >= :yearFrom");
+            bindings.put("yearFrom", filter.getYearFrom());
+        }
+        if (filter.getYearTo() != null) {
+            sql.append(" AND m.release_year <= :yearTo");
+            bindings.put("yearTo", filter.getYearTo());
+        }
+        if (filter.getMinRating() != null) {
+            sql.append(" AND m.imdb_rating >= :minRating");
+            bindings.put("minRating", filter.getMinRating());
+        }
+
+        String column = column(sort.getField());
+        String direction = sort.isDescending() ? "DESC" : "ASC";
+        if (lastId != null) {
+            String beyond = sort.isDescending() ? " < " : " > ";
+            if (sort.getField() == MovieSortField.ID) {
+                sql.append(" AND m.id").append(beyond).append(":lastId");
+            } else {
+                // same shape as MovieSpecifications.keyset, the plain bound is an index condition
+                sql.append(" AND ").append(column).append(sort.isDescending() ? " <= " : " >= ").append(":lastValue")
+                        .append(" AND (").append(column).append(beyond).append(":lastValue OR m.id > :lastId)");
+                bindings.put("lastValue", lastValue);
+            }
+            bindings.put("lastId", lastId);
+        }
+
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (sort.getField() != MovieSortField.ID) {
+            sql.append(", m.id ASC");
+        }
+        sql.append(" LIMIT :limit");
+        bindings.put("limit", limit);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(ReactiveMovieRepository::toResponse).all();
+    }
+
+    public Flux<MovieResponse> streamAll() {
+        // rows are pulled from the server cursor only as fast as the subscriber requests them
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM " + MOVIES + " ORDER BY m.id")
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(ReactiveMovieRepository::toResponse)
+                .all();
+    }
+
+    public Mono<MovieResponse> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM " + MOVIES + " WHERE m.id = :id")
+                .bind("id", id)
+                .map(ReactiveMovieRepository::toResponse)
+                .one();
+    }
+
+    public Mono<MovieResponse> insert(MovieRequest dto) {
+        return databaseClient.sql(DIMENSIONS
+                        + "movie AS (INSERT INTO movies (id, title, director_id, release_year, genre_id, imdb_rating, "
+                        + "version, updated_at) SELECT nextval('movies_seq'), :title, director.id, :releaseYear, "
+                        + "genre.id, :imdbRating, 0, CURRENT_TIMESTAMP FROM director, genre "
+                        + "RETURNING id, title, release_year, imdb_rating, version), "
+                        + CHANGE + "SELECT nextval('movie_changes_id_seq'), 'CREATED', id, version, title, :director, "
+                        + "release_year, :genre, imdb_rating, NULL, NULL, NULL, NULL, CURRENT_TIMESTAMP FROM movie) "
+                        + "SELECT id, title, release_year, imdb_rating FROM movie")
+                .bind("title", dto.getTitle())
+                .bind("director", dto.getDirector())
+                .bind("releaseYear", dto.getReleaseYear())
+                .bind("genre", dto.getGenre())
+                .bind("imdbRating", dto.getImdbRating())
+                .map(row -> toResponse(row, dto))
+                .one();
+    }
+
+    public Mono<MovieResponse> update(Long id, MovieRequest dto) {
+        return databaseClient.sql(DIMENSIONS + PREVIOUS + ", "
+                        + "movie AS (UPDATE movies SET title = :title, director_id = director.id, "
+                        + "release_year = :releaseYear, genre_id = genre.id, imdb_rating = :imdbRating, "
+                        + "version = movies.version + 1, updated_at = CURRENT_TIMESTAMP "
+                        + "FROM director, genre, previous WHERE movies.id = previous.id "
+                        + "RETURNING movies.id, movies.title, movies.release_year, movies.imdb_rating, movies.version, "
+                        + "previous.director AS previous_director, previous.release_year AS previous_release_year, "
+                        + "previous.genre AS previous_genre, previous.imdb_rating AS previous_imdb_rating), "
+                        + CHANGE + "SELECT nextval('movie_changes_id_seq'), 'UPDATED', id, version, title, :director, "
+                        + "release_year, :genre, imdb_rating, previous_director, previous_release_year, previous_genre, "
+                        + "previous_imdb_rating, CURRENT_TIMESTAMP FROM movie) "
+                        + "SELECT id, title, release_year, imdb_rating FROM movie")
+                .bind("id", id)
+                .bind("title", dto.getTitle())
+                .bind("director", dto.getDirector())
+                .bind("releaseYear", dto.getReleaseYear())
+                .bind("genre", dto.getGenre())
+                .bind("imdbRating", dto.getImdbRating())
+                .map(row -> toResponse(row, dto))
+                .one();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("WITH " + PREVIOUS + ", "
+                        + "movie AS (DELETE FROM movies USING previous WHERE movies.id = previous.id "
+                        + "RETURNING movies.id, movies.version, previous.director, previous.release_year, "
+                        + "previous.genre, previous.imdb_rating), "
+                        + CHANGE + "SELECT nextval('movie_changes_id_seq'), 'DELETED', id, version, NULL, NULL, NULL, "
+                        + "NULL, NULL, director, release_year, genre, imdb_rating, CURRENT_TIMESTAMP FROM movie) "
+                        + "SELECT count(*) AS deleted FROM movie")
+                .bind("id", id)
+                .map(row -> row.get("deleted", Long.class))
+                .one();
+    }
+
+    private static String dimension(String name, String table, String value) {
+        return name + "_found AS (SELECT id FROM " + table + " WHERE name = " + value + "), "
+                + name + "_added AS (INSERT INTO " + table + " (name) SELECT " + value
+                + " WHERE NOT EXISTS (SELECT 1 FROM " + name + "_found) "
+                + "ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name RETURNING id), "
+                + name + " AS (SELECT id FROM " + name + "_found UNION ALL SELECT id FROM " + name + "_added)";
+    }
+
+    private static String column(MovieSortField field) {
+        return switch (field) {
+            case ID -> "m.id";
+            case TITLE -> "m.title";
+            case RELEASE_YEAR -> "m.release_year";
+            case IMDB_RATING -> "m.imdb_rating";
+        };
+    }
+
+    private static MovieResponse toResponse(Readable row) {
+        return new MovieResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("director", String.class),
+                row.get("release_year", Integer.class),
+                row.get("genre", String.class),
+                row.get("imdb_rating", Float.class));
+    }
+
+    // writes only return the movie columns; the names are the ones just written
+    private static MovieResponse toResponse(Readable row, MovieRequest dto) {
+        return new MovieResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                dto.getDirector(),
+                row.get("release_year", Integer.class),
+                dto.getGenre(),
+                row.get("imdb_rating", Float.class));
+    }
+}
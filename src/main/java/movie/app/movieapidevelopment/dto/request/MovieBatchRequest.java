@@ -0,0 +1,16 @@
+package movie.app.movieapidevelopment.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class MovieBatchRequest {
+
+    private List<Long> ids;
+
+    public MovieBatchRequest() {
+    }
+}
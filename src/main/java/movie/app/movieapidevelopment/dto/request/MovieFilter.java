@@ -0,0 +1,28 @@
+package movie.app.movieapidevelopment.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MovieFilter {
+
+    private String genre;
+
+    private String director;
+
+    private Integer yearFrom;
+
+    private Integer yearTo;
+
+    private Float minRating;
+
+    private String sort;
+
+    public MovieFilter() {
+    }
+
+    public boolean hasCriteria() {
+        return genre != null || director != null || yearFrom != null || yearTo != null || minRating != null;
+    }
+}
@@ -4,26 +4,31 @@ import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
 
+// Checked by MovieRequestValidator; the annotations describe the same rules in the OpenAPI schema.
 @Getter
 @Setter
 public class MovieRequest {
 
     @NotBlank(message = "Title cannot be blank")
+    @Size(max = 100, message = "Title must be at most 100 characters")
     private String title;
 
     @NotBlank(message = "Director cannot be blank")
+    @Size(max = 50, message = "Director must be at most 50 characters")
     private String director;
 
     @NotNull(message = "Release year is required")
-    @Min(value = 1888, message = "Release year must be after 1888")
+    @Min(value = 1888, message = "Release year must be between 1888 and 2100")
+    @Max(value = 2100, message = "Release year must be between 1888 and 2100")
     private Integer releaseYear;
 
     @NotBlank(message = "Genre cannot be blank")
+    @Size(max = 30, message = "Genre must be at most 30 characters")
     private String genre;
 
     @NotNull(message = "IMDb rating is required")
-    @DecimalMin(value = "0.0", message = "IMDb rating must be at least 0")
-    @DecimalMax(value = "10.0", message = "IMDb rating cannot be more than 10")
+    @DecimalMin(value = "0.0", message = "IMDb rating must be between 0 and 10")
+    @DecimalMax(value = "10.0", message = "IMDb rating must be between 0 and 10")
     private Float imdbRating;
 
     public MovieRequest() {
@@ -0,0 +1,21 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkImportChunkSummary {
+    private int chunk;
+    private int inserted;
+    private int duplicates;
+    private int rejected;
+    // valid rows of a chunk that was rolled back; neither inserted nor duplicates
+    private int failed;
+    private List<String> errors;
+
+    public BulkImportChunkSummary() {
+    }
+}
@@ -0,0 +1,20 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkImportResponse {
+    private int inserted;
+    private int duplicates;
+    private int rejected;
+    private int failed;
+    private List<BulkImportChunkSummary> chunks;
+    private String error;
+
+    public BulkImportResponse() {
+    }
+}
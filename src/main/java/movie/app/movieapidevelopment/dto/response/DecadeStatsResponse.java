@@ -0,0 +1,14 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DecadeStatsResponse {
+    private int decade;
+    private long count;
+
+    public DecadeStatsResponse() {
+    }
+}
@@ -0,0 +1,14 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DirectorStatsResponse {
+    private String director;
+    private long count;
+
+    public DirectorStatsResponse() {
+    }
+}
@@ -0,0 +1,15 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class GenreStatsResponse {
+    private String genre;
+    private long count;
+    private double averageRating;
+
+    public GenreStatsResponse() {
+    }
+}
@@ -0,0 +1,16 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MovieBatchItemResponse {
+    private Long id;
+    private boolean found;
+    // null when found is false
+    private MovieResponse movie;
+
+    public MovieBatchItemResponse() {
+    }
+}
@@ -0,0 +1,16 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MovieBatchResponse {
+    // one item per distinct requested id, in request order
+    private List<MovieBatchItemResponse> items;
+
+    public MovieBatchResponse() {
+    }
+}
@@ -0,0 +1,24 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class MovieChangeResponse {
+    // delivery order; not the commit order across movies
+    private long seq;
+    private MovieChangedEvent.Type type;
+    private Long movieId;
+    // orders the changes to one movie
+    private Long version;
+    // null for deletes
+    private MovieResponse movie;
+    private Instant changedAt;
+
+    public MovieChangeResponse() {
+    }
+}
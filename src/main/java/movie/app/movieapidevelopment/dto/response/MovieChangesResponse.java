@@ -0,0 +1,17 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MovieChangesResponse {
+    private List<MovieChangeResponse> changes;
+    // pass back as since to continue after the last change
+    private long nextSince;
+
+    public MovieChangesResponse() {
+    }
+}
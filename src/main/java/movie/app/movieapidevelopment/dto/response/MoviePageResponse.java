@@ -0,0 +1,16 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MoviePageResponse {
+    private List<MovieResponse> items;
+    private String nextCursor;
+
+    public MoviePageResponse() {
+    }
+}
@@ -0,0 +1,15 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MoviePartitionArchiveResponse {
+    private String partition;
+    private String archivedAs;
+    private int movies;
+
+    public MoviePartitionArchiveResponse() {
+    }
+}
@@ -0,0 +1,18 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MoviePartitionResponse {
+    private String name;
+    // both null for the default partition; toYear is exclusive
+    private Integer fromYear;
+    private Integer toYear;
+    // planner estimate from the last ANALYZE, not a count
+    private long estimatedMovies;
+
+    public MoviePartitionResponse() {
+    }
+}
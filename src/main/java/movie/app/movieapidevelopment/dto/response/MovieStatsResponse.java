@@ -0,0 +1,18 @@
+package movie.app.movieapidevelopment.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MovieStatsResponse {
+    private long totalMovies;
+    private List<GenreStatsResponse> genres;
+    private List<DecadeStatsResponse> decades;
+    private List<DirectorStatsResponse> topDirectors;
+
+    public MovieStatsResponse() {
+    }
+}
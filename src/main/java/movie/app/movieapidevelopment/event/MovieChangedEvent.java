@@ -0,0 +1,22 @@
+package movie.app.movieapidevelopment.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+
+@Getter
+@AllArgsConstructor
+public class MovieChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long movieId;
+    private final MovieResponse movie;
+    // state before an update or delete; null for creates or when the previous state is unknown
+    private final MovieResponse previous;
+    // movie version after the change (the removed version for deletes)
+    private final Long version;
+}
@@ -1,6 +1,6 @@
 package movie.app.movieapidevelopment.exceptions;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends StacklessException {
 
     public BadRequestException(String message) {
         super(message);
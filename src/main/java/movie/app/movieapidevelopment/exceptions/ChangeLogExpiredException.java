@@ -0,0 +1,8 @@
+package movie.app.movieapidevelopment.exceptions;
+
+public class ChangeLogExpiredException extends StacklessException {
+
+    public ChangeLogExpiredException(String message) {
+        super(message);
+    }
+}
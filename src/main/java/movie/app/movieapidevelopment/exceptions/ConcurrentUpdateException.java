@@ -0,0 +1,8 @@
+package movie.app.movieapidevelopment.exceptions;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package movie.app.movieapidevelopment.exceptions;
 
-public class DuplicateMovieException extends RuntimeException
+public class DuplicateMovieException extends StacklessException
 {
     public DuplicateMovieException(String message) {
         super(message);
@@ -1,6 +1,6 @@
 package movie.app.movieapidevelopment.exceptions;
 
-public class EmptyDatabaseException extends RuntimeException
+public class EmptyDatabaseException extends StacklessException
 {
     public EmptyDatabaseException(String message) {
         super(message);
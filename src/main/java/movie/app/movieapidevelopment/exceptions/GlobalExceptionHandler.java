@@ -1,62 +1,152 @@
 package movie.app.movieapidevelopment.exceptions;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import movie.app.movieapidevelopment.validation.FieldViolation;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String EXCEPTION_COUNTER = "movie.api.exceptions";
+
+    private final Map<Class<?>, Counter> exceptionCounters = new HashMap<>();
+    private final Counter unexpectedExceptionCounter;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        // counters are registered once up front so handling an exception never builds tags
+        for (Class<?> type : List.of(ResourceNotFoundException.class, BadRequestException.class,
+                DuplicateMovieException.class, ValidationException.class, EmptyDatabaseException.class, EntityDeletionException.class, DatabaseException.class,
+                PreconditionFailedException.class, ConcurrentUpdateException.class, ChangeLogExpiredException.class,
+                MethodArgumentNotValidException.class, WebExchangeBindException.class)) {
+            exceptionCounters.put(type, exceptionCounter(registry, type.getSimpleName()));
+        }
+        unexpectedExceptionCounter = exceptionCounter(registry, "Unexpected");
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<String> handleBadRequest(BadRequestException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(DuplicateMovieException.class)
     public ResponseEntity<String> handleDuplicateMovie(DuplicateMovieException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
-    @ExceptionHandler(InvalidRatingException.class)
-    public ResponseEntity<String> handleInvalidRating(InvalidRatingException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailed(PreconditionFailedException ex) {
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
     }
 
-    @ExceptionHandler(InvalidYearException.class)
-    public ResponseEntity<String> handleInvalidYear(InvalidYearException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<String> handleConcurrentUpdate(ConcurrentUpdateException ex) {
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ChangeLogExpiredException.class)
+    public ResponseEntity<String> handleChangeLogExpired(ChangeLogExpiredException ex) {
+        count(ex);
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ProblemDetail> handleValidation(ValidationException ex) {
+        count(ex);
+        return invalidRequest(ex.getViolations());
     }
 
     @ExceptionHandler(EmptyDatabaseException.class)
     public ResponseEntity<String> handleEmptyDatabase(EmptyDatabaseException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NO_CONTENT);
     }
 
     @ExceptionHandler(EntityDeletionException.class)
     public ResponseEntity<String> handleEntityDeletion(EntityDeletionException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(DatabaseException.class)
     public ResponseEntity<String> handleDatabaseException(DatabaseException ex) {
+        count(ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<String> handleValidationException(MethodArgumentNotValidException ex) {
-        return new ResponseEntity<>("IMDb rating must be between 0 and 10", HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleValidationException(MethodArgumentNotValidException ex) {
+        count(ex);
+        return invalidRequest(fieldViolations(ex.getBindingResult()));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ProblemDetail> handleReactiveValidationException(WebExchangeBindException ex) {
+        count(ex);
+        return invalidRequest(fieldViolations(ex.getBindingResult()));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
+        count(ex);
         return new ResponseEntity<>("An unexpected error occurred: " + ex.getMessage(),
                 HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    // RFC 7807 body with every violation under "errors"
+    private static ResponseEntity<ProblemDetail> invalidRequest(List<FieldViolation> violations) {
+        String detail = violations.size() == 1
+                ? violations.get(0).getMessage()
+                : violations.size() + " fields are invalid";
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, detail);
+        problem.setTitle("Invalid movie request");
+        problem.setProperty("errors", violations);
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_PROBLEM_JSON).body(problem);
+    }
+
+    private static List<FieldViolation> fieldViolations(BindingResult bindingResult) {
+        List<FieldViolation> violations = new ArrayList<>(bindingResult.getFieldErrorCount());
+        for (FieldError error : bindingResult.getFieldErrors()) {
+            violations.add(new FieldViolation(error.getField(), error.getDefaultMessage()));
+        }
+        return violations;
+    }
+
+    private void count(Exception ex) {
+        exceptionCounters.getOrDefault(ex.getClass(), unexpectedExceptionCounter).increment();
+    }
+
+    private static Counter exceptionCounter(MeterRegistry registry, String exception) {
+        return Counter.builder(EXCEPTION_COUNTER)
+                .description("Exceptions translated into error responses")
+                .tag("exception", exception)
+                .register(registry);
+    }
 }
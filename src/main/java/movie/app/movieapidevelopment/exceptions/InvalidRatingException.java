@@ -1,7 +0,0 @@
-package movie.app.movieapidevelopment.exceptions;
-
-public class InvalidRatingException extends RuntimeException {
-    public InvalidRatingException(String message) {
-        super(message);
-    }
-}
@@ -1,8 +0,0 @@
-package movie.app.movieapidevelopment.exceptions;
-
-public class InvalidYearException extends RuntimeException
-{
-    public InvalidYearException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,8 @@
+package movie.app.movieapidevelopment.exceptions;
+
+public class PreconditionFailedException extends StacklessException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
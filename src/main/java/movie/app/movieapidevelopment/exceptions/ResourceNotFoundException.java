@@ -1,6 +1,6 @@
 package movie.app.movieapidevelopment.exceptions;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends StacklessException {
 
     public ResourceNotFoundException(String message) {
         super(message);
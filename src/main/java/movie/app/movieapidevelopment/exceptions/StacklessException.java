@@ -0,0 +1,10 @@
+package movie.app.movieapidevelopment.exceptions;
+
+// Client errors are expected control flow, answered by GlobalExceptionHandler and never logged, so they
+// skip filling in a stack trace; a flood of bad requests then costs no more than the good ones
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
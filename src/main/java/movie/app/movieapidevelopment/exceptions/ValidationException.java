@@ -1,7 +1,19 @@
 package movie.app.movieapidevelopment.exceptions;
 
-public class ValidationException extends RuntimeException {
-    public ValidationException(String message) {
-        super(message);
+import movie.app.movieapidevelopment.validation.FieldViolation;
+
+import java.util.List;
+
+public class ValidationException extends StacklessException {
+
+    private final List<FieldViolation> violations;
+
+    public ValidationException(List<FieldViolation> violations) {
+        super(violations.get(0).getMessage());
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<FieldViolation> getViolations() {
+        return violations;
     }
 }
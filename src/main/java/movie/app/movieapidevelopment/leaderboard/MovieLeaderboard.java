@@ -0,0 +1,283 @@
+package movie.app.movieapidevelopment.leaderboard;
+
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.domain.repository.MovieSpecifications;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Top-rated movies overall, per genre, per release year and per genre and year. Every board keeps only its
+// best CAPACITY movies, so memory depends on the number of genres and years, not on the catalog size. Built from
+// a snapshot of the table and moved along by the published change feed (see MovieLeaderboardLoader).
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieLeaderboard {
+
+    public static final int MAX_N = 100;
+    static final int CAPACITY = 2 * MAX_N;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble((Entry entry) -> entry.rating).reversed()
+            .thenComparingLong(entry -> entry.id);
+    private static final Sort REFILL_ORDER = Sort.by(Sort.Order.desc("imdbRating"), Sort.Order.asc("id"));
+
+    private final MovieRepository movieRepository;
+    // writers are serialized; readers only walk the skip lists and never take it
+    private final Lock lock = new ReentrantLock();
+    private volatile Map<BoardKey, Board> boards = new ConcurrentHashMap<>();
+    // last change feed seq in the boards; -1 until the first build
+    private long appliedSeq = -1;
+    // changes the snapshot already contained before the relay numbered them, skipped when their seq comes along
+    private Set<Long> counted = new HashSet<>();
+    // version of the last change applied per movie since the last build
+    private Map<Long, Long> appliedVersions = new HashMap<>();
+
+    public MovieLeaderboard(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    // Applies published changes in seq order. Returns false, applying nothing, if the boards are no longer at
+    // since because a rebuild replaced them in the meantime.
+    public boolean applyChanges(long since, List<MovieChangeEntity> changes) {
+        lock.lock();
+        try {
+            if (appliedSeq != since) {
+                return false;
+            }
+            for (MovieChangeEntity change : changes) {
+                if (!counted.remove(change.getId())) {
+                    apply(change);
+                }
+                appliedSeq = change.getSeq();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long appliedSeq() {
+        lock.lock();
+        try {
+            return appliedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Swaps in boards built from the database as of seq, plus the unnumbered changes they already contain.
+    // Changes past seq are applied again on top.
+    void replace(MovieLeaderboard rebuilt, long seq, Set<Long> unpublished) {
+        lock.lock();
+        try {
+            boards = rebuilt.boards;
+            appliedSeq = seq;
+            counted = new HashSet<>(unpublished);
+            appliedVersions = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void add(MovieResponse movie) {
+        lock.lock();
+        try {
+            offer(movie);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void update(MovieResponse movie, MovieResponse previous) {
+        lock.lock();
+        try {
+            List<BoardKey> touched = discard(movie.getId(), previous);
+            offer(movie);
+            refillShortBoards(touched);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(long movieId, MovieResponse previous) {
+        lock.lock();
+        try {
+            refillShortBoards(discard(movieId, previous));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // genre and year are optional; null means every genre or every year
+    public List<MovieResponse> top(String genre, Integer year, int n) {
+        Board board = boards.get(new BoardKey(genre, year));
+        if (board == null) {
+            return List.of();
+        }
+        List<MovieResponse> movies = new ArrayList<>(Math.min(n, CAPACITY));
+        for (Entry entry : board.ranking) {
+            if (movies.size() == n) {
+                break;
+            }
+            movies.add(entry.movie);
+        }
+        return movies;
+    }
+
+    public int boardCount() {
+        return boards.size();
+    }
+
+    // seq follows id allocation rather than commit order, so a change can arrive after a newer one for the same
+    // movie; it is dropped. A delete does not bump the version. The replaced state only says which boards hold
+    // the movie if the change directly follows the last one applied to it; otherwise every board is checked.
+    private void apply(MovieChangeEntity change) {
+        long movieId = change.getMovieId();
+        Long version = change.getMovieVersion();
+        Long last = appliedVersions.get(movieId);
+        boolean delete = change.getType() == MovieChangedEvent.Type.DELETED;
+        if (version != null && last != null && (delete ? version < last : version <= last)) {
+            return;
+        }
+        if (version != null) {
+            appliedVersions.put(movieId, version);
+        }
+
+        boolean follows = version != null && last != null && last == (delete ? version : version - 1);
+        MovieResponse previous = !follows || change.getPreviousDirector() == null ? null
+                : new MovieResponse(movieId, change.getTitle(), change.getPreviousDirector(),
+                change.getPreviousReleaseYear(), change.getPreviousGenre(), change.getPreviousImdbRating());
+        if (delete) {
+            refillShortBoards(discard(movieId, previous));
+            return;
+        }
+        MovieResponse movie = new MovieResponse(movieId, change.getTitle(), change.getDirector(),
+                change.getReleaseYear(), change.getGenre(), change.getImdbRating());
+        List<BoardKey> touched = change.getType() == MovieChangedEvent.Type.CREATED ? List.of()
+                : discard(movieId, previous);
+        offer(movie);
+        refillShortBoards(touched);
+    }
+
+    private void offer(MovieResponse movie) {
+        Entry entry = new Entry(movie);
+        for (BoardKey key : BoardKey.of(movie)) {
+            boards.computeIfAbsent(key, ignored -> new Board()).offer(entry);
+        }
+    }
+
+    // without the previous state the old genre and year are unknown, so every board is checked
+    private List<BoardKey> discard(long movieId, MovieResponse previous) {
+        List<BoardKey> touched = new ArrayList<>();
+        for (BoardKey key : previous != null ? BoardKey.of(previous) : List.copyOf(boards.keySet())) {
+            Board board = boards.get(key);
+            if (board != null && board.remove(movieId)) {
+                touched.add(key);
+            }
+        }
+        return touched;
+    }
+
+    private void refillShortBoards(List<BoardKey> keys) {
+        for (BoardKey key : keys) {
+            Board board = boards.get(key);
+            if (board == null) {
+                continue;
+            }
+            if (board.size == 0 && !board.truncated) {
+                boards.remove(key);
+            } else if (board.truncated && board.size < MAX_N) {
+                boards.put(key, load(key));
+            }
+        }
+    }
+
+    // a trimmed board cannot tell which movie moves up when one of its own leaves, so it is reloaded
+    // from the database once it no longer covers the largest n a client can ask for
+    private Board load(BoardKey key) {
+        MovieFilter filter = new MovieFilter();
+        filter.setGenre(key.genre);
+        filter.setYearFrom(key.year);
+        filter.setYearTo(key.year);
+        List<MovieResponse> movies = movieRepository.findResponses(MovieSpecifications.matching(filter),
+                REFILL_ORDER, CAPACITY + 1);
+        Board board = new Board();
+        movies.forEach(movie -> board.offer(new Entry(movie)));
+        return board;
+    }
+
+    private record BoardKey(String genre, Integer year) {
+
+        static List<BoardKey> of(MovieResponse movie) {
+            return List.of(new BoardKey(null, null),
+                    new BoardKey(movie.getGenre(), null),
+                    new BoardKey(null, movie.getReleaseYear()),
+                    new BoardKey(movie.getGenre(), movie.getReleaseYear()));
+        }
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final float rating;
+        private final MovieResponse movie;
+
+        private Entry(MovieResponse movie) {
+            this.id = movie.getId();
+            this.rating = movie.getImdbRating();
+            this.movie = movie;
+        }
+    }
+
+    // Holds exactly the best `size` movies of its key. Once trimmed, a movie ranked below the last entry
+    // is not taken in, since a movie trimmed earlier may rank between the two.
+    private static final class Board {
+        private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+        // writer side only, guarded by the leaderboard lock
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private int size;
+        private boolean truncated;
+
+        void offer(Entry entry) {
+            // a reload may already contain a change whose event is applied after it
+            remove(entry.id);
+            if (truncated && (size == 0 || RANKING.compare(entry, ranking.last()) > 0)) {
+                return;
+            }
+            ranking.add(entry);
+            entries.put(entry.id, entry);
+            size++;
+            if (size > CAPACITY) {
+                entries.remove(ranking.pollLast().id);
+                size--;
+                truncated = true;
+            }
+        }
+
+        boolean remove(long movieId) {
+            Entry entry = entries.remove(movieId);
+            if (entry == null) {
+                return false;
+            }
+            ranking.remove(entry);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package movie.app.movieapidevelopment.leaderboard;
+
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.service.MovieService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Builds the leaderboards from a snapshot of the table at a known change feed seq, then applies the changes
+// published after it, like MovieSearchIndexLoader. They are rebuilt every rebuild-interval as well, which also
+// forgets the versions remembered for movies changed since the previous build.
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieLeaderboardLoader {
+
+    static final int PAGE_SIZE = 1000;
+
+    private final MovieService movieService;
+    private final MovieChangeRepository movieChangeRepository;
+    private final MovieChangeFeed movieChangeFeed;
+    private final MovieLeaderboard movieLeaderboard;
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock following = new ReentrantLock();
+    private Runnable cancelWait = () -> { };
+
+    public MovieLeaderboardLoader(MovieService movieService, MovieChangeRepository movieChangeRepository,
+                                  MovieChangeFeed movieChangeFeed, MovieLeaderboard movieLeaderboard,
+                                  MovieRepository movieRepository, PlatformTransactionManager transactionManager) {
+        this.movieService = movieService;
+        this.movieChangeRepository = movieChangeRepository;
+        this.movieChangeFeed = movieChangeFeed;
+        this.movieLeaderboard = movieLeaderboard;
+        this.movieRepository = movieRepository;
+        // the scan and the feed position have to see the same snapshot, on the primary
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboards() {
+        long started = System.nanoTime();
+        rebuildBoards();
+        log.info("Built {} top-rated leaderboards in {} ms", movieLeaderboard.boardCount(),
+                (System.nanoTime() - started) / 1_000_000);
+        follow();
+    }
+
+    @Scheduled(initialDelayString = "${movie.leaderboard.rebuild-interval:PT1H}",
+            fixedDelayString = "${movie.leaderboard.rebuild-interval:PT1H}")
+    public void rebuild() {
+        rebuildBoards();
+        follow();
+    }
+
+    // Applies the published changes past the boards' seq, then waits for the next ones. Also scheduled, in
+    // case a wake-up was lost to a failed round.
+    @Scheduled(initialDelayString = "${movie.leaderboard.follow-interval:PT10S}",
+            fixedDelayString = "${movie.leaderboard.follow-interval:PT10S}")
+    public void follow() {
+        following.lock();
+        try {
+            cancelWait.run();
+            while (true) {
+                long since = movieLeaderboard.appliedSeq();
+                if (since < 0) {
+                    // not built yet
+                    return;
+                }
+                List<MovieChangeEntity> changes = transactionTemplate.execute(status ->
+                        movieChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(PAGE_SIZE)));
+                if (!changes.isEmpty() && changes.get(0).getSeq() != since + 1) {
+                    log.warn("Movie changes after seq {} were purged before the leaderboards applied them", since);
+                    rebuildBoards();
+                    continue;
+                }
+                boolean applied = movieLeaderboard.applyChanges(since, changes);
+                if (applied && changes.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            cancelWait = movieChangeFeed.awaitChanges(movieLeaderboard.appliedSeq(), this::follow);
+        } catch (RuntimeException e) {
+            log.warn("Applying movie changes to the leaderboards failed, retrying next round", e);
+        } finally {
+            following.unlock();
+        }
+    }
+
+    private void rebuildBoards() {
+        Rebuilt rebuilt = snapshotTemplate.execute(status -> load());
+        movieLeaderboard.replace(rebuilt.leaderboard(), rebuilt.seq(), rebuilt.unpublished());
+    }
+
+    private Rebuilt load() {
+        // as in MovieStatisticsReconciler: unnumbered rows are already in the scan, rows numbered after seq are not
+        long seq = movieChangeRepository.findLastSeq().orElse(0L);
+        Set<Long> unpublished = new HashSet<>(movieChangeRepository.findUnpublishedIds());
+
+        // built aside, so readers keep the previous boards until the swap
+        MovieLeaderboard leaderboard = new MovieLeaderboard(movieRepository);
+        movieService.streamAllMovies(leaderboard::add);
+        return new Rebuilt(leaderboard, seq, unpublished);
+    }
+
+    private record Rebuilt(MovieLeaderboard leaderboard, long seq, Set<Long> unpublished) {
+    }
+}
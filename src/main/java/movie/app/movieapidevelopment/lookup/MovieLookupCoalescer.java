@@ -0,0 +1,83 @@
+package movie.app.movieapidevelopment.lookup;
+
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Concurrent lookups of the same id share one database fetch: the first caller to claim an id loads it,
+// later callers wait for that result instead of issuing their own query.
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieLookupCoalescer {
+
+    private final MovieRepository movieRepository;
+    private final ConcurrentMap<Long, CompletableFuture<VersionedMovie>> inFlight = new ConcurrentHashMap<>();
+
+    public MovieLookupCoalescer(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    // ids that do not exist map to null
+    public Map<Long, VersionedMovie> load(Collection<Long> ids) {
+        Map<Long, CompletableFuture<VersionedMovie>> pending = new HashMap<>();
+        Map<Long, CompletableFuture<VersionedMovie>> claimed = new HashMap<>();
+        for (Long id : ids) {
+            // putIfAbsent rather than computeIfAbsent: no query ever runs inside a map bin lock
+            CompletableFuture<VersionedMovie> future = new CompletableFuture<>();
+            CompletableFuture<VersionedMovie> existing = inFlight.putIfAbsent(id, future);
+            if (existing == null) {
+                claimed.put(id, future);
+                pending.put(id, future);
+            } else {
+                pending.put(id, existing);
+            }
+        }
+
+        // every claimed id is completed before waiting on anyone else's, so two overlapping batches never
+        // wait on each other
+        if (!claimed.isEmpty()) {
+            fetch(claimed);
+        }
+
+        Map<Long, VersionedMovie> movies = new HashMap<>();
+        pending.forEach((id, future) -> movies.put(id, join(future)));
+        return movies;
+    }
+
+    private void fetch(Map<Long, CompletableFuture<VersionedMovie>> claimed) {
+        try {
+            List<VersionedMovie> found = movieRepository.findVersionedByIds(claimed.keySet().toArray(Long[]::new));
+            for (VersionedMovie movie : found) {
+                claimed.get(movie.getMovie().getId()).complete(movie);
+            }
+            claimed.values().forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            claimed.values().forEach(future -> future.completeExceptionally(e));
+            throw e;
+        } finally {
+            claimed.forEach(inFlight::remove);
+        }
+    }
+
+    private static VersionedMovie join(CompletableFuture<VersionedMovie> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
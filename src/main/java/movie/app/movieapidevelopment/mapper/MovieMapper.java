@@ -1,12 +1,18 @@
 package movie.app.movieapidevelopment.mapper;
 
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
 import movie.app.movieapidevelopment.domain.entity.MovieEntity;
 import movie.app.movieapidevelopment.dto.request.MovieRequest;
 import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MovieDimensions.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
 public interface MovieMapper {
+    // entities read from the database already hold the dictionary instances; requests are canonicalized here
+    @Mapping(target = "genre", qualifiedByName = "genre")
+    @Mapping(target = "director", qualifiedByName = "director")
     MovieEntity toEntity(MovieRequest dto);
 
     MovieResponse toDTO(MovieEntity movie);
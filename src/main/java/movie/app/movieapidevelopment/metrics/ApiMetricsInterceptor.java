@@ -0,0 +1,67 @@
+package movie.app.movieapidevelopment.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class ApiMetricsInterceptor implements HandlerInterceptor {
+
+    public static final String REQUEST_TIMER = "movie.api.requests";
+
+    private static final String START_ATTRIBUTE = ApiMetricsInterceptor.class.getName() + ".start";
+    private static final String[] OUTCOMES = {"SUCCESS", "CLIENT_ERROR", "SERVER_ERROR"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ApiMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // async requests are dispatched twice; keep the start of the first dispatch
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(start instanceof Long startNanos)) {
+            return;
+        }
+
+        // meters for an endpoint are registered on its first call; every later call is a map lookup
+        Timer[] endpointTimers = timers.computeIfAbsent(handlerMethod.getMethod(),
+                method -> register(handlerMethod));
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        Timer timer = status >= 500 ? endpointTimers[2] : status >= 400 ? endpointTimers[1] : endpointTimers[0];
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] register(HandlerMethod handlerMethod) {
+        String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        Timer[] endpointTimers = new Timer[OUTCOMES.length];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            endpointTimers[i] = Timer.builder(REQUEST_TIMER)
+                    .description("Latency of movie API endpoints")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", OUTCOMES[i])
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return endpointTimers;
+    }
+}
@@ -0,0 +1,48 @@
+package movie.app.movieapidevelopment.pagination;
+
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class MovieCursor {
+
+    private final long lastId;
+    private final String sortValue;
+
+    private MovieCursor(long lastId, String sortValue) {
+        this.lastId = lastId;
+        this.sortValue = sortValue;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    public static String encode(long lastId, String sortValue) {
+        String payload = sortValue == null ? Long.toString(lastId) : lastId + ":" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MovieCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            long lastId = Long.parseLong(separator < 0 ? decoded : decoded.substring(0, separator));
+            if (lastId < 0) {
+                throw new BadRequestException("Invalid pagination cursor");
+            }
+            return new MovieCursor(lastId, separator < 0 ? null : decoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package movie.app.movieapidevelopment.pagination;
+
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+public final class MovieSort {
+
+    public static final MovieSort BY_ID = new MovieSort(MovieSortField.ID, false);
+
+    private final MovieSortField field;
+    private final boolean descending;
+
+    private MovieSort(MovieSortField field, boolean descending) {
+        this.field = field;
+        this.descending = descending;
+    }
+
+    public static MovieSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return BY_ID;
+        }
+
+        String[] parts = sort.split(",");
+        MovieSortField field = MovieSortField.fromAttribute(parts[0].trim());
+        if (field == null || parts.length > 2) {
+            throw new BadRequestException("Unsupported sort: " + sort);
+        }
+
+        boolean descending = false;
+        if (parts.length == 2) {
+            String direction = parts[1].trim();
+            if (direction.equalsIgnoreCase("desc")) {
+                descending = true;
+            } else if (!direction.equalsIgnoreCase("asc")) {
+                throw new BadRequestException("Unsupported sort direction: " + direction);
+            }
+        }
+        return new MovieSort(field, descending);
+    }
+
+    public MovieSortField getField() {
+        return field;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, field.getAttribute());
+        // id breaks ties so the keyset cursor is stable for non-unique sort keys
+        return field == MovieSortField.ID ? sort : sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+}
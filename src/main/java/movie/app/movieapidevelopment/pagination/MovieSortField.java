@@ -0,0 +1,51 @@
+package movie.app.movieapidevelopment.pagination;
+
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+
+import java.util.function.Function;
+
+public enum MovieSortField {
+    ID("id", MovieResponse::getId, Long::valueOf),
+    TITLE("title", MovieResponse::getTitle, value -> value),
+    RELEASE_YEAR("releaseYear", MovieResponse::getReleaseYear, Integer::valueOf),
+    IMDB_RATING("imdbRating", MovieResponse::getImdbRating, Float::valueOf);
+
+    private final String attribute;
+    private final Function<MovieResponse, Object> accessor;
+    private final Function<String, Object> parser;
+
+    MovieSortField(String attribute, Function<MovieResponse, Object> accessor, Function<String, Object> parser) {
+        this.attribute = attribute;
+        this.accessor = accessor;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public String valueOf(MovieResponse movie) {
+        return String.valueOf(accessor.apply(movie));
+    }
+
+    public Object parseValue(String value) {
+        if (value == null) {
+            throw new BadRequestException("Pagination cursor does not match the requested sort");
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    public static MovieSortField fromAttribute(String attribute) {
+        for (MovieSortField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
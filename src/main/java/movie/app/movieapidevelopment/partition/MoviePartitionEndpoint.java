@@ -0,0 +1,44 @@
+package movie.app.movieapidevelopment.partition;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.exceptions.ConcurrentUpdateException;
+import movie.app.movieapidevelopment.exceptions.ResourceNotFoundException;
+import movie.app.movieapidevelopment.service.MoviePartitionService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// Archiving on the management side: POST /actuator/moviepartitions/{decade}. Like every actuator endpoint here
+// it is only reachable once listed in management.endpoints.web.exposure.include, and can be moved to its own
+// port with management.server.port, which keeps it off the public API.
+@Component
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+@Endpoint(id = "moviepartitions")
+public class MoviePartitionEndpoint {
+
+    private final MoviePartitionService moviePartitionService;
+
+    @WriteOperation
+    public WebEndpointResponse<Object> archive(@Selector int decade) {
+        try {
+            return new WebEndpointResponse<>(moviePartitionService.archivePartition(decade));
+        } catch (BadRequestException e) {
+            return error(e, WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return error(e, WebEndpointResponse.STATUS_NOT_FOUND);
+        } catch (ConcurrentUpdateException e) {
+            return error(e, 409);
+        }
+    }
+
+    // the statuses GlobalExceptionHandler gives these exceptions on the public API
+    private static WebEndpointResponse<Object> error(RuntimeException e, int status) {
+        return new WebEndpointResponse<>(e.getMessage(), status);
+    }
+}
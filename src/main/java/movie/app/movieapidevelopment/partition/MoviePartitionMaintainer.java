@@ -0,0 +1,52 @@
+package movie.app.movieapidevelopment.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.TreeSet;
+
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MoviePartitionMaintainer {
+
+    private final MoviePartitions moviePartitions;
+    private final int lookaheadDecades;
+
+    public MoviePartitionMaintainer(MoviePartitions moviePartitions,
+                                    @Value("${movie.partitions.lookahead-decades:2}") int lookaheadDecades) {
+        this.moviePartitions = moviePartitions;
+        this.lookaheadDecades = lookaheadDecades;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${movie.partitions.maintenance-interval:PT6H}",
+            fixedDelayString = "${movie.partitions.maintenance-interval:PT6H}")
+    public void maintain() {
+        if (!moviePartitions.supported()) {
+            return;
+        }
+        try {
+            int current = MoviePartitions.decadeOf(Year.now().getValue());
+            TreeSet<Integer> decades = new TreeSet<>(moviePartitions.decadesInDefaultPartition());
+            for (int i = 0; i <= lookaheadDecades; i++) {
+                decades.add(current + i * 10);
+            }
+            for (int decade : decades) {
+                if (moviePartitions.createPartition(decade)) {
+                    log.info("Created movie partition {}", MoviePartitions.nameOf(decade));
+                }
+            }
+        } catch (RuntimeException e) {
+            // usually the lock timeout against a long-running movie query
+            log.warn("Movie partition maintenance failed, retrying next round", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package movie.app.movieapidevelopment.partition;
+
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.dto.response.MoviePartitionResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Decade partitions of the movies table (postgresql/V5), managed over plain JDBC. Partition DDL is serialized
+// across instances by an advisory lock and only ever built from integers. On H2, or a PostgreSQL schema from
+// before V5, movies is a plain table and supported() is false.
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MoviePartitions {
+
+    public static final String ARCHIVE_SCHEMA = "movies_archive";
+    static final String DEFAULT_PARTITION = "movies_default";
+
+    private static final long DDL_LOCK_KEY = 0x6d6f76696573L;
+    private static final Pattern RANGE = Pattern.compile("FROM \\((-?\\d+)\\) TO \\((-?\\d+)\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MovieDimensions movieDimensions;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lockTimeout;
+    private volatile Boolean supported;
+
+    public MoviePartitions(JdbcTemplate jdbcTemplate, MovieDimensions movieDimensions,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${movie.partitions.lock-timeout:PT5S}") Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.movieDimensions = movieDimensions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockTimeout = lockTimeout;
+    }
+
+    public static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+
+    public static String nameOf(int decade) {
+        return "movies_" + decade + "s";
+    }
+
+    public boolean supported() {
+        Boolean result = supported;
+        if (result == null) {
+            result = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())))
+                    && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('movies'))",
+                    Boolean.class));
+            supported = result;
+        }
+        return result;
+    }
+
+    public List<MoviePartitionResponse> list() {
+        return jdbcTemplate.query("""
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound, c.reltuples
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'movies'::regclass
+                ORDER BY c.relname
+                """, (row, rowNum) -> {
+            Matcher range = RANGE.matcher(row.getString("bound"));
+            boolean bounded = range.find();
+            // -1 until the partition has been analyzed
+            long estimate = Math.max(0, Math.round(row.getDouble("reltuples")));
+            return new MoviePartitionResponse(row.getString("relname"),
+                    bounded ? Integer.valueOf(range.group(1)) : null,
+                    bounded ? Integer.valueOf(range.group(2)) : null,
+                    estimate);
+        });
+    }
+
+    public List<Integer> decadesInDefaultPartition() {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT release_year / 10 * 10 FROM " + DEFAULT_PARTITION + " ORDER BY 1", Integer.class);
+    }
+
+    // Adds the partition for [decade, decade + 10) unless a partition already covers it. The default partition
+    // must not hold rows of a range being attached, so they are moved into the new table first, in the same
+    // transaction. Returns whether a partition was created.
+    public boolean createPartition(int decade) {
+        String name = nameOf(decade);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            lockDdl();
+            if (covered(decade)) {
+                return false;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE movies INCLUDING DEFAULTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE release_year >= ? AND release_year < ? RETURNING *) INSERT INTO " + name
+                    + " SELECT * FROM moved", decade, decade + 10);
+            // builds the partition's copies of the indexes and constraints of movies
+            jdbcTemplate.execute("ALTER TABLE movies ATTACH PARTITION " + name
+                    + " FOR VALUES FROM (" + decade + ") TO (" + (decade + 10) + ")");
+            return true;
+        }));
+    }
+
+    // Detaches the decade's partition and moves it to the archive schema, where its rows stay queryable.
+    // DETACH ... CONCURRENTLY is not allowed next to a default partition; the plain DETACH only changes catalog
+    // entries but needs an exclusive lock on movies, so it gives up after the lock timeout instead of queueing
+    // every movie query behind it. Returns the archived table, or empty when the decade has no partition.
+    public Optional<String> archive(int decade) {
+        String name = nameOf(decade);
+        return transactionTemplate.execute(status -> {
+            lockDdl();
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_inherits "
+                    + "WHERE inhparent = 'movies'::regclass AND inhrelid = to_regclass(?))", Boolean.class, name))) {
+                return Optional.<String>empty();
+            }
+            // a decade archived before, then recreated for newly inserted movies, is archived a second time
+            String archived = name;
+            if (exists(ARCHIVE_SCHEMA + "." + name)) {
+                archived = name + "_" + System.currentTimeMillis() / 1000;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE movies DETACH PARTITION " + name);
+            if (!archived.equals(name)) {
+                jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + archived);
+            }
+            jdbcTemplate.execute("ALTER TABLE " + archived + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            return Optional.of(ARCHIVE_SCHEMA + "." + archived);
+        });
+    }
+
+    // keyset pages over an archived table, see archive
+    public List<ArchivedMovie> archivedMovies(String archivedTable, long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, title, director_id, release_year, genre_id, imdb_rating, version FROM "
+                        + archivedTable + " WHERE id > ? ORDER BY id LIMIT ?",
+                (row, rowNum) -> new ArchivedMovie(new MovieResponse(row.getLong("id"),
+                        row.getString("title"),
+                        movieDimensions.directors().nameOf(row.getInt("director_id")),
+                        row.getInt("release_year"),
+                        movieDimensions.genres().nameOf(row.getInt("genre_id")),
+                        row.getFloat("imdb_rating")),
+                        row.getLong("version")),
+                afterId, limit);
+    }
+
+    private void lockDdl() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + DDL_LOCK_KEY + ")");
+    }
+
+    private boolean covered(int decade) {
+        return list().stream().anyMatch(partition -> partition.getFromYear() != null
+                && partition.getFromYear() <= decade && decade < partition.getToYear());
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    public record ArchivedMovie(MovieResponse movie, long version) {
+    }
+}
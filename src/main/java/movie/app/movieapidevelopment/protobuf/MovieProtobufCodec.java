@@ -0,0 +1,118 @@
+package movie.app.movieapidevelopment.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Encodes the messages of src/main/proto/movie.proto straight from the DTOs, without generated message objects
+public final class MovieProtobufCodec {
+
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE);
+
+    private static final int MOVIE_ID = 1;
+    private static final int MOVIE_TITLE = 2;
+    private static final int MOVIE_DIRECTOR = 3;
+    private static final int MOVIE_RELEASE_YEAR = 4;
+    private static final int MOVIE_GENRE = 5;
+    private static final int MOVIE_IMDB_RATING = 6;
+
+    private static final int PAGE_ITEMS = 1;
+    private static final int PAGE_NEXT_CURSOR = 2;
+
+    private MovieProtobufCodec() {
+    }
+
+    public static void writeMovie(CodedOutputStream output, MovieResponse movie) throws IOException {
+        // proto3 leaves default values off the wire
+        if (movie.getId() != null && movie.getId() != 0) {
+            output.writeInt64(MOVIE_ID, movie.getId());
+        }
+        writeString(output, MOVIE_TITLE, movie.getTitle());
+        writeString(output, MOVIE_DIRECTOR, movie.getDirector());
+        if (movie.getReleaseYear() != null && movie.getReleaseYear() != 0) {
+            output.writeInt32(MOVIE_RELEASE_YEAR, movie.getReleaseYear());
+        }
+        writeString(output, MOVIE_GENRE, movie.getGenre());
+        if (movie.getImdbRating() != null && movie.getImdbRating() != 0) {
+            output.writeFloat(MOVIE_IMDB_RATING, movie.getImdbRating());
+        }
+    }
+
+    public static void writeDelimitedMovie(CodedOutputStream output, MovieResponse movie) throws IOException {
+        output.writeUInt32NoTag(movieSize(movie));
+        writeMovie(output, movie);
+    }
+
+    public static void writePage(CodedOutputStream output, MoviePageResponse page) throws IOException {
+        for (MovieResponse movie : page.getItems()) {
+            output.writeTag(PAGE_ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(movieSize(movie));
+            writeMovie(output, movie);
+        }
+        writeString(output, PAGE_NEXT_CURSOR, page.getNextCursor());
+    }
+
+    public static int movieSize(MovieResponse movie) {
+        int size = 0;
+        if (movie.getId() != null && movie.getId() != 0) {
+            size += CodedOutputStream.computeInt64Size(MOVIE_ID, movie.getId());
+        }
+        size += stringSize(MOVIE_TITLE, movie.getTitle());
+        size += stringSize(MOVIE_DIRECTOR, movie.getDirector());
+        if (movie.getReleaseYear() != null && movie.getReleaseYear() != 0) {
+            size += CodedOutputStream.computeInt32Size(MOVIE_RELEASE_YEAR, movie.getReleaseYear());
+        }
+        size += stringSize(MOVIE_GENRE, movie.getGenre());
+        if (movie.getImdbRating() != null && movie.getImdbRating() != 0) {
+            size += CodedOutputStream.computeFloatSize(MOVIE_IMDB_RATING, movie.getImdbRating());
+        }
+        return size;
+    }
+
+    public static MovieResponse readMovie(CodedInputStream input) throws IOException {
+        MovieResponse movie = new MovieResponse(0L, "", "", 0, "", 0f);
+        while (true) {
+            int tag = input.readTag();
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 0 -> {
+                    return movie;
+                }
+                case MOVIE_ID -> movie.setId(input.readInt64());
+                case MOVIE_TITLE -> movie.setTitle(input.readStringRequireUtf8());
+                case MOVIE_DIRECTOR -> movie.setDirector(input.readStringRequireUtf8());
+                case MOVIE_RELEASE_YEAR -> movie.setReleaseYear(input.readInt32());
+                case MOVIE_GENRE -> movie.setGenre(input.readStringRequireUtf8());
+                case MOVIE_IMDB_RATING -> movie.setImdbRating(input.readFloat());
+                default -> input.skipField(tag);
+            }
+        }
+    }
+
+    public static List<MovieResponse> readDelimitedMovies(CodedInputStream input) throws IOException {
+        List<MovieResponse> movies = new ArrayList<>();
+        while (!input.isAtEnd()) {
+            int limit = input.pushLimit(input.readRawVarint32());
+            movies.add(readMovie(input));
+            input.popLimit(limit);
+        }
+        return movies;
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+}
@@ -0,0 +1,72 @@
+package movie.app.movieapidevelopment.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+// Writes movies, movie pages and movie lists as application/x-protobuf; lists become delimited Movie messages
+public class MovieProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public MovieProtobufHttpMessageConverter() {
+        super(MovieProtobufCodec.APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MovieResponse.class == clazz || MoviePageResponse.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        if (Collection.class.isAssignableFrom(resolved.toClass())) {
+            return MovieResponse.class == resolved.asCollection().getGeneric(0).toClass();
+        }
+        return supports(resolved.toClass());
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        if (body instanceof MovieResponse movie) {
+            MovieProtobufCodec.writeMovie(output, movie);
+        } else if (body instanceof MoviePageResponse page) {
+            MovieProtobufCodec.writePage(output, page);
+        } else {
+            for (Object movie : (Collection<?>) body) {
+                MovieProtobufCodec.writeDelimitedMovie(output, (MovieResponse) movie);
+            }
+        }
+        output.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
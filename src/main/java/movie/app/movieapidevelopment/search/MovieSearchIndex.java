@@ -0,0 +1,355 @@
+package movie.app.movieapidevelopment.search;
+
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Built from a snapshot of the table and moved along by the published change feed (see MovieSearchIndexLoader),
+// so writes committed on any instance reach it.
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieSearchIndex {
+
+    private static final float TITLE_EXACT = 3.0f;
+    private static final float TITLE_PREFIX = 2.0f;
+    private static final float DIRECTOR_EXACT = 1.5f;
+    private static final float DIRECTOR_PREFIX = 1.0f;
+    private static final int MAX_PREFIX_EXPANSION = 512;
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, PostingList> titleTerms = new TreeMap<>();
+    private NavigableMap<String, PostingList> directorTerms = new TreeMap<>();
+    private LongIntHashMap ordinalsById = new LongIntHashMap();
+    private BitSet live = new BitSet();
+    private MovieResponse[] documents = new MovieResponse[MIN_COMPACTION_SIZE];
+    // the movie version each document was indexed at
+    private long[] versions = new long[MIN_COMPACTION_SIZE];
+    private int nextOrdinal;
+    private int deleted;
+    // last change feed seq in the index; -1 until the first build
+    private long appliedSeq = -1;
+    // changes the snapshot already contained before the relay numbered them, skipped when their seq comes along
+    private Set<Long> counted = new HashSet<>();
+    // ids are never reused, so nothing published after a delete applies to the movie again
+    private Set<Long> deletedIds = new HashSet<>();
+
+    public void put(MovieResponse movie) {
+        put(movie, 0);
+    }
+
+    public void put(MovieResponse movie, long version) {
+        lock.writeLock().lock();
+        try {
+            delete(movie.getId());
+            insert(movie, version);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long movieId) {
+        lock.writeLock().lock();
+        try {
+            delete(movieId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applies published changes in seq order. Returns false, applying nothing, if the index is no longer at
+    // since because a rebuild replaced it in the meantime.
+    public boolean applyChanges(long since, List<MovieChangeEntity> changes) {
+        lock.writeLock().lock();
+        try {
+            if (appliedSeq != since) {
+                return false;
+            }
+            for (MovieChangeEntity change : changes) {
+                if (!counted.remove(change.getId()) && isNewer(change)) {
+                    apply(change);
+                }
+                appliedSeq = change.getSeq();
+            }
+            compactIfSparse();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long appliedSeq() {
+        lock.readLock().lock();
+        try {
+            return appliedSeq;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Swaps in an index built from the database as of seq, plus the unnumbered changes it already contains.
+    // Changes past seq are applied again on top.
+    void replace(MovieSearchIndex rebuilt, long seq, Set<Long> unpublished) {
+        lock.writeLock().lock();
+        try {
+            titleTerms = rebuilt.titleTerms;
+            directorTerms = rebuilt.directorTerms;
+            ordinalsById = rebuilt.ordinalsById;
+            live = rebuilt.live;
+            documents = rebuilt.documents;
+            versions = rebuilt.versions;
+            nextOrdinal = rebuilt.nextOrdinal;
+            deleted = rebuilt.deleted;
+            appliedSeq = seq;
+            counted = new HashSet<>(unpublished);
+            deletedIds = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nextOrdinal - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<MovieResponse> search(String query, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // every token has to match (as a whole word or a word prefix) in the title or the director
+            ScoredDocuments matches = match(tokens.get(0));
+            for (int i = 1; i < tokens.size() && matches.size > 0; i++) {
+                matches = matches.intersect(match(tokens.get(i)));
+            }
+            return topDocuments(matches, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // seq follows id allocation rather than commit order, so a change can arrive after a newer one for the same
+    // movie. A delete does not bump the version, so it wins a tie.
+    private boolean isNewer(MovieChangeEntity change) {
+        if (deletedIds.contains(change.getMovieId())) {
+            return false;
+        }
+        int ordinal = ordinalsById.get(change.getMovieId());
+        if (ordinal < 0 || change.getMovieVersion() == null) {
+            return true;
+        }
+        long version = change.getMovieVersion();
+        return change.getType() == MovieChangedEvent.Type.DELETED
+                ? version >= versions[ordinal]
+                : version > versions[ordinal];
+    }
+
+    private void apply(MovieChangeEntity change) {
+        delete(change.getMovieId());
+        if (change.getType() == MovieChangedEvent.Type.DELETED) {
+            deletedIds.add(change.getMovieId());
+        } else {
+            insert(new MovieResponse(change.getMovieId(), change.getTitle(), change.getDirector(),
+                    change.getReleaseYear(), change.getGenre(), change.getImdbRating()),
+                    change.getMovieVersion() == null ? 0 : change.getMovieVersion());
+        }
+    }
+
+    private void insert(MovieResponse movie, long version) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == documents.length) {
+            documents = Arrays.copyOf(documents, ordinal * 2);
+            versions = Arrays.copyOf(versions, ordinal * 2);
+        }
+        documents[ordinal] = movie;
+        versions[ordinal] = version;
+        live.set(ordinal);
+        ordinalsById.put(movie.getId(), ordinal);
+        addTerms(titleTerms, movie.getTitle(), ordinal);
+        addTerms(directorTerms, movie.getDirector(), ordinal);
+    }
+
+    private void delete(long movieId) {
+        int ordinal = ordinalsById.remove(movieId);
+        if (ordinal >= 0) {
+            // postings are left in place and skipped via the live set until the next compaction
+            live.clear(ordinal);
+            documents[ordinal] = null;
+            deleted++;
+        }
+    }
+
+    private void compactIfSparse() {
+        if (nextOrdinal > MIN_COMPACTION_SIZE && deleted > nextOrdinal / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        MovieResponse[] survivors = new MovieResponse[nextOrdinal - deleted];
+        long[] survivorVersions = new long[survivors.length];
+        int count = 0;
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            survivors[count] = documents[ordinal];
+            survivorVersions[count++] = versions[ordinal];
+        }
+
+        titleTerms.clear();
+        directorTerms.clear();
+        ordinalsById.clear();
+        live.clear();
+        documents = new MovieResponse[Math.max(MIN_COMPACTION_SIZE, count * 2)];
+        versions = new long[documents.length];
+        nextOrdinal = 0;
+        deleted = 0;
+        for (int i = 0; i < count; i++) {
+            insert(survivors[i], survivorVersions[i]);
+        }
+    }
+
+    private static void addTerms(NavigableMap<String, PostingList> terms, String text, int ordinal) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            terms.computeIfAbsent(token, key -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private ScoredDocuments match(String token) {
+        LongBuffer hits = new LongBuffer();
+        collect(titleTerms, token, TITLE_EXACT, TITLE_PREFIX, hits);
+        collect(directorTerms, token, DIRECTOR_EXACT, DIRECTOR_PREFIX, hits);
+        return ScoredDocuments.fromPackedHits(hits.sorted());
+    }
+
+    private void collect(NavigableMap<String, PostingList> terms, String token, float exactWeight,
+                         float prefixWeight, LongBuffer hits) {
+        int expanded = 0;
+        for (Map.Entry<String, PostingList> entry : terms.tailMap(token, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(token) || expanded++ == MAX_PREFIX_EXPANSION) {
+                break;
+            }
+            float weight = term.length() == token.length() ? exactWeight : prefixWeight;
+            PostingList postings = entry.getValue();
+            for (int i = 0; i < postings.size(); i++) {
+                int ordinal = postings.get(i);
+                if (live.get(ordinal)) {
+                    hits.add(((long) ordinal << 32) | (Float.floatToIntBits(weight) & 0xFFFFFFFFL));
+                }
+            }
+        }
+    }
+
+    private List<MovieResponse> topDocuments(ScoredDocuments matches, int limit) {
+        // higher score first, then lower ordinal; positive float bits order the same way as the floats
+        long[] ranked = new long[matches.size];
+        for (int i = 0; i < matches.size; i++) {
+            int inverted = Integer.MAX_VALUE - Float.floatToIntBits(matches.scores[i]);
+            ranked[i] = ((long) inverted << 32) | matches.documents[i];
+        }
+        Arrays.sort(ranked);
+
+        int count = Math.min(limit, ranked.length);
+        List<MovieResponse> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(documents[(int) ranked[i]]);
+        }
+        return results;
+    }
+
+    private static final class LongBuffer {
+
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    private static final class ScoredDocuments {
+
+        private final int[] documents;
+        private final float[] scores;
+        private final int size;
+
+        private ScoredDocuments(int[] documents, float[] scores, int size) {
+            this.documents = documents;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        static ScoredDocuments fromPackedHits(long[] hits) {
+            int[] documents = new int[hits.length];
+            float[] scores = new float[hits.length];
+            int size = 0;
+            for (long hit : hits) {
+                int document = (int) (hit >>> 32);
+                float score = Float.intBitsToFloat((int) hit);
+                // hits are sorted by document, then by weight, so the last one per document is its best match
+                if (size > 0 && documents[size - 1] == document) {
+                    scores[size - 1] = score;
+                } else {
+                    documents[size] = document;
+                    scores[size] = score;
+                    size++;
+                }
+            }
+            return new ScoredDocuments(documents, scores, size);
+        }
+
+        ScoredDocuments intersect(ScoredDocuments other) {
+            int capacity = Math.min(size, other.size);
+            int[] matchedDocuments = new int[capacity];
+            float[] matchedScores = new float[capacity];
+            int matched = 0;
+            for (int i = 0, j = 0; i < size && j < other.size; ) {
+                if (documents[i] < other.documents[j]) {
+                    i++;
+                } else if (documents[i] > other.documents[j]) {
+                    j++;
+                } else {
+                    matchedDocuments[matched] = documents[i];
+                    matchedScores[matched] = scores[i] + other.scores[j];
+                    matched++;
+                    i++;
+                    j++;
+                }
+            }
+            return new ScoredDocuments(matchedDocuments, matchedScores, matched);
+        }
+    }
+}
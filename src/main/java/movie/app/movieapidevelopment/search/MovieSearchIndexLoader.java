@@ -0,0 +1,118 @@
+package movie.app.movieapidevelopment.search;
+
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.service.MovieService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Builds the search index from a snapshot of the table at a known change feed seq, then applies the changes
+// published after it, the same way MovieStatisticsReconciler keeps the statistics. Writes committed on any
+// instance reach the index, and none applied before the snapshot can be undone by a stale row.
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieSearchIndexLoader {
+
+    static final int PAGE_SIZE = 1000;
+
+    private final MovieService movieService;
+    private final MovieChangeRepository movieChangeRepository;
+    private final MovieChangeFeed movieChangeFeed;
+    private final MovieSearchIndex movieSearchIndex;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock following = new ReentrantLock();
+    private Runnable cancelWait = () -> { };
+
+    public MovieSearchIndexLoader(MovieService movieService, MovieChangeRepository movieChangeRepository,
+                                  MovieChangeFeed movieChangeFeed, MovieSearchIndex movieSearchIndex,
+                                  PlatformTransactionManager transactionManager) {
+        this.movieService = movieService;
+        this.movieChangeRepository = movieChangeRepository;
+        this.movieChangeFeed = movieChangeFeed;
+        this.movieSearchIndex = movieSearchIndex;
+        // the scan and the feed position have to see the same snapshot, on the primary
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long started = System.nanoTime();
+        rebuildIndex();
+        log.info("Indexed {} movies for search in {} ms", movieSearchIndex.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        follow();
+    }
+
+    // Applies the published changes past the index's seq, then waits for the next ones. Also scheduled, in
+    // case a wake-up was lost to a failed round.
+    @Scheduled(initialDelayString = "${movie.search.follow-interval:PT10S}",
+            fixedDelayString = "${movie.search.follow-interval:PT10S}")
+    public void follow() {
+        following.lock();
+        try {
+            cancelWait.run();
+            while (true) {
+                long since = movieSearchIndex.appliedSeq();
+                if (since < 0) {
+                    // not built yet
+                    return;
+                }
+                List<MovieChangeEntity> changes = transactionTemplate.execute(status ->
+                        movieChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(PAGE_SIZE)));
+                if (!changes.isEmpty() && changes.get(0).getSeq() != since + 1) {
+                    log.warn("Movie changes after seq {} were purged before the search index applied them", since);
+                    rebuildIndex();
+                    continue;
+                }
+                boolean applied = movieSearchIndex.applyChanges(since, changes);
+                if (applied && changes.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            cancelWait = movieChangeFeed.awaitChanges(movieSearchIndex.appliedSeq(), this::follow);
+        } catch (RuntimeException e) {
+            log.warn("Applying movie changes to the search index failed, retrying next round", e);
+        } finally {
+            following.unlock();
+        }
+    }
+
+    private void rebuildIndex() {
+        Rebuilt rebuilt = snapshotTemplate.execute(status -> load());
+        movieSearchIndex.replace(rebuilt.index(), rebuilt.seq(), rebuilt.unpublished());
+    }
+
+    private Rebuilt load() {
+        // as in MovieStatisticsReconciler: unnumbered rows are already in the scan, rows numbered after seq are not
+        long seq = movieChangeRepository.findLastSeq().orElse(0L);
+        Set<Long> unpublished = new HashSet<>(movieChangeRepository.findUnpublishedIds());
+
+        // built aside, so searches keep the previous index until the swap
+        MovieSearchIndex index = new MovieSearchIndex();
+        movieService.streamAllVersionedMovies(movie -> index.put(movie.getMovie(), movie.getVersion()));
+        return new Rebuilt(index, seq, unpublished);
+    }
+
+    private record Rebuilt(MovieSearchIndex index, long seq, Set<Long> unpublished) {
+    }
+}
@@ -0,0 +1,28 @@
+package movie.app.movieapidevelopment.search;
+
+import java.util.Arrays;
+
+final class PostingList {
+
+    private int[] documents = new int[2];
+    private int size;
+
+    void add(int document) {
+        // ordinals are handed out in increasing order, so appending keeps the list sorted
+        if (size > 0 && documents[size - 1] == document) {
+            return;
+        }
+        if (size == documents.length) {
+            documents = Arrays.copyOf(documents, size * 2);
+        }
+        documents[size++] = document;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return documents[index];
+    }
+}
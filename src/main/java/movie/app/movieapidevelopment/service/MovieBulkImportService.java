@@ -0,0 +1,10 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.BulkImportResponse;
+
+import java.util.Iterator;
+
+public interface MovieBulkImportService {
+    BulkImportResponse importMovies(Iterator<MovieRequest> requests);
+}
@@ -0,0 +1,7 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.response.MovieChangesResponse;
+
+public interface MovieChangeService {
+    MovieChangesResponse getChanges(long since, int limit);
+}
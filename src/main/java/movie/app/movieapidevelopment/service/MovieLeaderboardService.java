@@ -0,0 +1,9 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+
+import java.util.List;
+
+public interface MovieLeaderboardService {
+    List<MovieResponse> getTopMovies(String genre, Integer year, int n);
+}
@@ -0,0 +1,12 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.response.MoviePartitionArchiveResponse;
+import movie.app.movieapidevelopment.dto.response.MoviePartitionResponse;
+
+import java.util.List;
+
+public interface MoviePartitionService {
+    List<MoviePartitionResponse> getPartitions();
+
+    MoviePartitionArchiveResponse archivePartition(int decade);
+}
@@ -1,18 +1,34 @@
 package movie.app.movieapidevelopment.service;
 
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
 import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieBatchResponse;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
 import movie.app.movieapidevelopment.dto.response.MovieResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MovieService {
-    List<MovieResponse> getAllMovies();
+    MoviePageResponse getAllMovies(MovieFilter filter, String after, int limit);
 
-    MovieResponse getMovieById(Long id);
+    void streamAllMovies(Consumer<MovieResponse> consumer);
+
+    void streamAllVersionedMovies(Consumer<VersionedMovie> consumer);
+
+    VersionedMovie getMovieById(Long id);
+
+    MovieBatchResponse getMoviesByIds(List<Long> ids);
+
+    String getCollectionVersion();
 
     MovieResponse addMovie(MovieRequest dto);
 
-    MovieResponse updateMovie(Long id, MovieRequest dto);
+    MovieResponse updateMovie(Long id, MovieRequest dto, Long expectedVersion);
+
+    MovieUpsert upsertMovie(MovieRequest dto);
 
     void deleteMovie(Long id);
 }
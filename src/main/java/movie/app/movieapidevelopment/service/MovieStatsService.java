@@ -0,0 +1,7 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.response.MovieStatsResponse;
+
+public interface MovieStatsService {
+    MovieStatsResponse getStats(int topDirectors);
+}
@@ -0,0 +1,22 @@
+package movie.app.movieapidevelopment.service;
+
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveMovieService {
+    Mono<MoviePageResponse> getAllMovies(MovieFilter filter, String after, int limit);
+
+    Flux<MovieResponse> streamAllMovies();
+
+    Mono<MovieResponse> getMovieById(Long id);
+
+    Mono<MovieResponse> addMovie(MovieRequest dto);
+
+    Mono<MovieResponse> updateMovie(Long id, MovieRequest dto);
+
+    Mono<Void> deleteMovie(Long id);
+}
@@ -0,0 +1,179 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieKeyView;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.BulkImportChunkSummary;
+import movie.app.movieapidevelopment.dto.response.BulkImportResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.mapper.MovieMapper;
+import movie.app.movieapidevelopment.service.MovieBulkImportService;
+import movie.app.movieapidevelopment.validation.FieldViolation;
+import movie.app.movieapidevelopment.validation.MovieRequestValidator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieBulkImportServiceImpl implements MovieBulkImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final MovieRepository movieRepository;
+    private final MovieMapper movieMapper;
+    private final MovieDimensions movieDimensions;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public BulkImportResponse importMovies(Iterator<MovieRequest> requests) {
+        List<BulkImportChunkSummary> chunks = new ArrayList<>();
+        List<MovieRequest> chunk = new ArrayList<>(CHUNK_SIZE);
+        int firstRow = 0;
+        String error = null;
+
+        try {
+            while (requests.hasNext()) {
+                chunk.add(requests.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    chunks.add(importChunk(chunks.size(), firstRow, chunk));
+                    firstRow += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            // MappingIterator throws RuntimeJsonMappingException for a value that does not bind and wraps broken
+            // JSON in a plain RuntimeException; either way the chunks committed so far are still reported
+            if (!(e instanceof RuntimeJsonMappingException) && !(e.getCause() instanceof JsonProcessingException)) {
+                throw e;
+            }
+            error = "Malformed movie after row " + (firstRow + chunk.size()) + "; remaining input was not imported";
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(importChunk(chunks.size(), firstRow, chunk));
+        }
+
+        BulkImportResponse response = new BulkImportResponse(0, 0, 0, 0, chunks, error);
+        for (BulkImportChunkSummary summary : chunks) {
+            response.setInserted(response.getInserted() + summary.getInserted());
+            response.setDuplicates(response.getDuplicates() + summary.getDuplicates());
+            response.setRejected(response.getRejected() + summary.getRejected());
+            response.setFailed(response.getFailed() + summary.getFailed());
+        }
+        return response;
+    }
+
+    private BulkImportChunkSummary importChunk(int index, int firstRow, List<MovieRequest> chunk) {
+        List<String> errors = new ArrayList<>();
+        Map<String, MovieRequest> candidates = new LinkedHashMap<>();
+        int duplicates = 0;
+
+        for (int i = 0; i < chunk.size(); i++) {
+            MovieRequest dto = chunk.get(i);
+            List<FieldViolation> violations = MovieRequestValidator.validate(dto);
+            if (!violations.isEmpty()) {
+                errors.add("Row " + (firstRow + i) + ": " + violations.stream()
+                        .map(FieldViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            if (candidates.putIfAbsent(key(dto.getTitle(), dto.getDirector(), dto.getReleaseYear()), dto) != null) {
+                duplicates++;
+            }
+        }
+
+        // new genres and directors are committed before the chunk transaction opens, see MovieDimensions.register
+        for (Iterator<MovieRequest> it = candidates.values().iterator(); it.hasNext(); ) {
+            MovieRequest dto = it.next();
+            try {
+                movieDimensions.register(dto.getGenre(), dto.getDirector());
+            } catch (DataAccessException e) {
+                errors.add("Movie '" + dto.getTitle() + "': genre or director could not be stored");
+                it.remove();
+            }
+        }
+
+        int rejected = errors.size();
+        int inChunkDuplicates = duplicates;
+        List<MovieResponse> created;
+        int failed = 0;
+        try {
+            created = transactionTemplate.execute(status -> {
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+
+                Set<String> titles = new HashSet<>();
+                Set<String> directors = new HashSet<>();
+                Set<Integer> releaseYears = new HashSet<>();
+                for (MovieRequest dto : candidates.values()) {
+                    titles.add(dto.getTitle());
+                    directors.add(dto.getDirector());
+                    releaseYears.add(dto.getReleaseYear());
+                }
+                // one set-based lookup per chunk instead of an existence query per row
+                for (MovieKeyView existing : movieRepository.findByTitleInAndDirectorInAndReleaseYearIn(
+                        titles, directors, releaseYears)) {
+                    candidates.remove(key(existing.getTitle(), existing.getDirector(), existing.getReleaseYear()));
+                }
+
+                List<MovieEntity> movies = candidates.values().stream()
+                        .map(movieMapper::toEntity)
+                        .collect(Collectors.toList());
+                movieRepository.saveAll(movies);
+                movieRepository.flush();
+                entityManager.clear();
+                List<MovieResponse> inserted = movies.stream()
+                        .map(movieMapper::toDTO)
+                        .collect(Collectors.toList());
+                // inside the transaction so the change-log rows are batched into the same commit
+                for (int i = 0; i < inserted.size(); i++) {
+                    MovieResponse movie = inserted.get(i);
+                    eventPublisher.publishEvent(new MovieChangedEvent(MovieChangedEvent.Type.CREATED, movie.getId(),
+                            movie, null, movies.get(i).getVersion()));
+                }
+                return inserted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent writer inserted one of these keys after the lookup; the whole chunk was rolled back
+            errors.add("Chunk " + index + " conflicted with a concurrent insert and was not imported");
+            created = List.of();
+            // candidates still holds the rows the lookup found new, i.e. the ones the rollback discarded
+            failed = candidates.size();
+        }
+
+        int insertedRows = created == null ? 0 : created.size();
+        int existingDuplicates = chunk.size() - rejected - inChunkDuplicates - insertedRows - failed;
+        return new BulkImportChunkSummary(index, insertedRows, inChunkDuplicates + existingDuplicates, rejected,
+                failed, errors);
+    }
+
+    private static String key(String title, String director, Integer releaseYear) {
+        return title + '\u0000' + director + '\u0000' + releaseYear;
+    }
+}
@@ -0,0 +1,78 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.dto.response.MovieChangeResponse;
+import movie.app.movieapidevelopment.dto.response.MovieChangesResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.exceptions.ChangeLogExpiredException;
+import movie.app.movieapidevelopment.service.MovieChangeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieChangeServiceImpl implements MovieChangeService {
+
+    private static final int MAX_CHANGES = 1000;
+
+    private final MovieChangeRepository movieChangeRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public MovieChangesResponse getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        if (limit <= 0 || limit > MAX_CHANGES) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_CHANGES);
+        }
+
+        List<MovieChangeEntity> rows = movieChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit));
+        if (rows.isEmpty()) {
+            long lastSeq = movieChangeRepository.findLastSeq().orElse(0L);
+            if (lastSeq <= since) {
+                return new MovieChangesResponse(List.of(), since);
+            }
+            // the relay committed between the two reads, or everything after since was purged
+            rows = movieChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(limit));
+            if (rows.isEmpty()) {
+                throw expired(since);
+            }
+        }
+        // seqs are dense, so a hole right after since means those changes were purged
+        if (rows.get(0).getSeq() != since + 1) {
+            throw expired(since);
+        }
+
+        List<MovieChangeResponse> changes = new ArrayList<>(rows.size());
+        for (MovieChangeEntity row : rows) {
+            changes.add(toResponse(row));
+        }
+        return new MovieChangesResponse(changes, rows.get(rows.size() - 1).getSeq());
+    }
+
+    private static MovieChangeResponse toResponse(MovieChangeEntity row) {
+        MovieResponse movie = row.getType() == MovieChangedEvent.Type.DELETED
+                ? null
+                : new MovieResponse(row.getMovieId(), row.getTitle(), row.getDirector(), row.getReleaseYear(),
+                row.getGenre(), row.getImdbRating());
+        return new MovieChangeResponse(row.getSeq(), row.getType(), row.getMovieId(), row.getMovieVersion(),
+                movie, row.getChangedAt());
+    }
+
+    private static ChangeLogExpiredException expired(long since) {
+        return new ChangeLogExpiredException("Changes after " + since
+                + " are no longer retained, resync from GET /api/v1/movies");
+    }
+}
@@ -0,0 +1,31 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.leaderboard.MovieLeaderboard;
+import movie.app.movieapidevelopment.service.MovieLeaderboardService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieLeaderboardServiceImpl implements MovieLeaderboardService {
+
+    private final MovieLeaderboard movieLeaderboard;
+
+    @Override
+    public List<MovieResponse> getTopMovies(String genre, Integer year, int n) {
+        if (n <= 0 || n > MovieLeaderboard.MAX_N) {
+            throw new BadRequestException("n must be between 1 and " + MovieLeaderboard.MAX_N);
+        }
+        if (genre != null && genre.isBlank()) {
+            genre = null;
+        }
+        return movieLeaderboard.top(genre, year, n);
+    }
+}
@@ -0,0 +1,93 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.CacheConfig;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.response.MoviePartitionArchiveResponse;
+import movie.app.movieapidevelopment.dto.response.MoviePartitionResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.exceptions.ConcurrentUpdateException;
+import movie.app.movieapidevelopment.exceptions.ResourceNotFoundException;
+import movie.app.movieapidevelopment.partition.MoviePartitions;
+import movie.app.movieapidevelopment.service.MoviePartitionService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MoviePartitionServiceImpl implements MoviePartitionService {
+
+    private static final int EVENT_CHUNK_SIZE = 500;
+
+    private final MoviePartitions moviePartitions;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Override
+    public List<MoviePartitionResponse> getPartitions() {
+        requireSupported();
+        return moviePartitions.list();
+    }
+
+    @Override
+    public MoviePartitionArchiveResponse archivePartition(int decade) {
+        requireSupported();
+        if (decade % 10 != 0) {
+            throw new BadRequestException("Decade must be a multiple of 10, e.g. 1950");
+        }
+        if (decade >= MoviePartitions.decadeOf(Year.now().getValue())) {
+            throw new BadRequestException("Only partitions of past decades can be archived");
+        }
+
+        String partition = MoviePartitions.nameOf(decade);
+        String archived;
+        try {
+            archived = moviePartitions.archive(decade)
+                    .orElseThrow(() -> new ResourceNotFoundException("Movie partition " + partition + " does not exist"));
+        } catch (PessimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException("Movies are busy, archiving " + partition + " timed out; try again later");
+        }
+
+        // The archived movies leave every in-memory view and change feed as deletes. The detach has already
+        // committed, so a crash in between leaves them in the archive without their events; the statistics
+        // reconciliation and a restart rebuild the local views, change feed readers have to resync.
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+        int movies = 0;
+        long afterId = 0;
+        List<MoviePartitions.ArchivedMovie> chunk;
+        do {
+            chunk = moviePartitions.archivedMovies(archived, afterId, EVENT_CHUNK_SIZE);
+            List<MoviePartitions.ArchivedMovie> published = chunk;
+            transactionTemplate.executeWithoutResult(status -> published.forEach(archivedMovie ->
+                    eventPublisher.publishEvent(new MovieChangedEvent(MovieChangedEvent.Type.DELETED,
+                            archivedMovie.movie().getId(), null, archivedMovie.movie(), archivedMovie.version()))));
+            for (MoviePartitions.ArchivedMovie archivedMovie : chunk) {
+                if (cache != null) {
+                    cache.put(archivedMovie.movie().getId(), VersionedMovie.deleted(archivedMovie.version()));
+                }
+                afterId = archivedMovie.movie().getId();
+            }
+            movies += chunk.size();
+        } while (chunk.size() == EVENT_CHUNK_SIZE);
+
+        return new MoviePartitionArchiveResponse(partition, archived, movies);
+    }
+
+    private void requireSupported() {
+        if (!moviePartitions.supported()) {
+            throw new BadRequestException("Movies are not partitioned on this database");
+        }
+    }
+}
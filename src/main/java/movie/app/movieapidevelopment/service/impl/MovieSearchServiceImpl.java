@@ -0,0 +1,33 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.search.MovieSearchIndex;
+import movie.app.movieapidevelopment.service.MovieSearchService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieSearchServiceImpl implements MovieSearchService {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final MovieSearchIndex movieSearchIndex;
+
+    @Override
+    public List<MovieResponse> searchMovies(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        return movieSearchIndex.search(query, limit);
+    }
+}
@@ -1,91 +1,292 @@
 package movie.app.movieapidevelopment.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.CacheConfig;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
 import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
 import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.domain.repository.MovieSpecifications;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
 import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieBatchItemResponse;
+import movie.app.movieapidevelopment.dto.response.MovieBatchResponse;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
 import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
 import movie.app.movieapidevelopment.exceptions.*;
+import movie.app.movieapidevelopment.lookup.MovieLookupCoalescer;
 import movie.app.movieapidevelopment.mapper.MovieMapper;
+import movie.app.movieapidevelopment.pagination.MovieCursor;
+import movie.app.movieapidevelopment.pagination.MovieSort;
+import movie.app.movieapidevelopment.pagination.MovieSortField;
 import movie.app.movieapidevelopment.service.MovieService;
+import movie.app.movieapidevelopment.validation.FieldViolation;
+import movie.app.movieapidevelopment.validation.MovieRequestValidator;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
 public class MovieServiceImpl implements MovieService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final MovieRepository movieRepository;
     private final MovieMapper movieMapper;
+    private final MovieDimensions movieDimensions;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MovieLookupCoalescer movieLookupCoalescer;
+    private final CacheManager cacheManager;
+    private final MovieChangeFeed movieChangeFeed;
 
     @Override
-    public List<MovieResponse> getAllMovies() {
+    @Transactional(readOnly = true)
+    public MoviePageResponse getAllMovies(MovieFilter filter, String after, int limit) {
+
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getYearFrom() != null && filter.getYearTo() != null && filter.getYearFrom() > filter.getYearTo()) {
+            throw new BadRequestException("yearFrom must not be after yearTo");
+        }
 
-        List<MovieEntity> movies = movieRepository.findAll();
-        if (movies.isEmpty()) {
+        MovieSort sort = MovieSort.parse(filter.getSort());
+        Specification<MovieEntity> specification = MovieSpecifications.matching(filter);
+        MovieCursor cursor = MovieCursor.decode(after);
+        if (cursor != null) {
+            Object lastValue = sort.getField() == MovieSortField.ID
+                    ? null
+                    : sort.getField().parseValue(cursor.getSortValue());
+            specification = specification.and(MovieSpecifications.after(sort, cursor.getLastId(), lastValue));
+        }
+
+        // one extra row tells us whether another page exists without a count query
+        List<MovieResponse> movies = movieRepository.findResponses(specification, sort.toSort(), limit + 1);
+        if (movies.isEmpty() && cursor == null && !filter.hasCriteria()) {
             throw new EmptyDatabaseException("No movies found in the database");
         }
-        return movies.stream()
-                .map(movieMapper::toDTO)
-                .collect(Collectors.toList());
+
+        if (movies.size() <= limit) {
+            return new MoviePageResponse(movies, null);
+        }
+        List<MovieResponse> items = movies.subList(0, limit);
+        MovieResponse last = items.get(limit - 1);
+        String sortValue = sort.getField() == MovieSortField.ID ? null : sort.getField().valueOf(last);
+        return new MoviePageResponse(items, MovieCursor.encode(last.getId(), sortValue));
     }
 
     @Override
-    public MovieResponse getMovieById(Long id) {
+    @Transactional(readOnly = true)
+    public void streamAllMovies(Consumer<MovieResponse> consumer) {
+        streamAllVersionedMovies(movie -> consumer.accept(movie.getMovie()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllVersionedMovies(Consumer<VersionedMovie> consumer) {
+        try (Stream<MovieEntity> movies = movieRepository.streamAllByOrderByIdAsc()) {
+            movies.forEach(movie -> {
+                consumer.accept(new VersionedMovie(movieMapper.toDTO(movie), movie.getVersion(), movie.getUpdatedAt()));
+                // keep the persistence context empty so memory stays flat for any table size
+                entityManager.detach(movie);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    // not sync: Caffeine would run the JDBC load inside a ConcurrentHashMap bin lock and pin virtual threads
+    @Cacheable(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
+    public VersionedMovie getMovieById(Long id) {
 
         if (id <= 0) {
             throw new BadRequestException("ID must be a positive number");
         }
 
-        MovieEntity movie = movieRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Movie with ID " + id + " not found"));
-        return movieMapper.toDTO(movie);
+        // a burst of misses for the same id (a cold cache entry) shares one query
+        VersionedMovie movie = movieLookupCoalescer.load(List.of(id)).get(id);
+        if (movie == null) {
+            throw new ResourceNotFoundException("Movie with ID " + id + " not found");
+        }
+        return movie;
     }
 
     @Override
-    public MovieResponse addMovie(MovieRequest dto) {
+    @Transactional(readOnly = true)
+    public MovieBatchResponse getMoviesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Between 1 and " + MAX_BATCH_SIZE + " ids must be given");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        for (Long id : distinctIds) {
+            if (id == null || id <= 0) {
+                throw new BadRequestException("IDs must be positive numbers");
+            }
+        }
 
-        validateMovieRequest(dto);
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+        Map<Long, MovieResponse> movies = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Cache.ValueWrapper cached = cache == null ? null : cache.get(id);
+            if (cached != null && cached.get() instanceof VersionedMovie movie) {
+                movies.put(id, movie.getMovie());
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            movieLookupCoalescer.load(misses).forEach((id, movie) -> {
+                if (movie != null) {
+                    movies.put(id, movie.getMovie());
+                    // a stale copy loses to the version a concurrent writer put, see VersionedMovieCache
+                    cacheMovie(id, movie);
+                }
+            });
+        }
 
-        if (movieRepository.existsByTitleAndDirector(dto.getTitle(), dto.getDirector())) {
-            throw new DuplicateMovieException("Movie with the same title and director already exists");
+        List<MovieBatchItemResponse> items = new ArrayList<>(distinctIds.size());
+        for (Long id : distinctIds) {
+            MovieResponse movie = movies.get(id);
+            items.add(new MovieBatchItemResponse(id, movie != null, movie));
         }
+        return new MovieBatchResponse(items);
+    }
+
+    @Override
+    public String getCollectionVersion() {
+        return movieChangeFeed.collectionVersion();
+    }
 
-        MovieEntity movie = movieMapper.toEntity(dto);
+    @Override
+    public MovieResponse addMovie(MovieRequest dto) {
+
+        validateMovieRequest(dto);
+
+        // the unique key on (title, director, release year) decides duplicates, so there is no check-then-insert race
         try {
-            movieRepository.save(movie);
+            movieDimensions.register(dto.getGenre(), dto.getDirector());
+            MovieEntity movie = movieMapper.toEntity(dto);
+            MovieResponse created = transactionTemplate.execute(status -> {
+                movieRepository.save(movie);
+                MovieResponse response = movieMapper.toDTO(movie);
+                // published inside the transaction so the change-log row commits or rolls back with the movie
+                eventPublisher.publishEvent(new MovieChangedEvent(MovieChangedEvent.Type.CREATED, response.getId(),
+                        response, null, movie.getVersion()));
+                return response;
+            });
+            cacheMovie(created.getId(), new VersionedMovie(created, movie.getVersion(), movie.getUpdatedAt()));
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, new DatabaseException("Error occurred while saving the movie to the database"));
         } catch (Exception e) {
             throw new DatabaseException("Error occurred while saving the movie to the database");
         }
-
-        return movieMapper.toDTO(movie);
     }
 
     @Override
-    public MovieResponse updateMovie(Long id, MovieRequest dto) {
+    public MovieResponse updateMovie(Long id, MovieRequest dto, Long expectedVersion) {
         if (id <= 0) {
             throw new BadRequestException("ID must be a positive number");
         }
 
+        validateMovieRequest(dto);
+        movieDimensions.register(dto.getGenre(), dto.getDirector());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                VersionedMovie updated = transactionTemplate.execute(status -> applyUpdate(id, dto, expectedVersion));
+                cacheMovie(id, updated);
+                return updated.getMovie();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // with If-Match the caller pinned a version, so losing the race is a failed precondition
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("Movie with ID " + id + " has been modified");
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ConcurrentUpdateException("Movie with ID " + id + " is being updated concurrently");
+                }
+            }
+        }
+    }
+
+    @Override
+    public MovieUpsert upsertMovie(MovieRequest dto) {
+
+        validateMovieRequest(dto);
+        movieDimensions.register(dto.getGenre(), dto.getDirector());
+
+        MovieUpsert upsert = transactionTemplate.execute(status -> {
+            MovieUpsert result = movieRepository.upsertByKey(dto);
+            MovieResponse movie = result.getMovie();
+            eventPublisher.publishEvent(new MovieChangedEvent(
+                    result.isCreated() ? MovieChangedEvent.Type.CREATED : MovieChangedEvent.Type.UPDATED,
+                    movie.getId(), movie, result.getPrevious(), result.getVersion()));
+            return result;
+        });
+        cacheMovie(upsert.getMovie().getId(),
+                new VersionedMovie(upsert.getMovie(), upsert.getVersion(), upsert.getUpdatedAt()));
+        return upsert;
+    }
+
+    private VersionedMovie applyUpdate(Long id, MovieRequest dto, Long expectedVersion) {
         MovieEntity existingMovie = movieRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Movie with ID " + id + " not found"));
 
-        validateMovieRequest(dto);
+        if (expectedVersion != null && !expectedVersion.equals(existingMovie.getVersion())) {
+            throw new PreconditionFailedException("Movie with ID " + id + " has been modified");
+        }
 
+        MovieResponse previous = movieMapper.toDTO(existingMovie);
         existingMovie.setTitle(dto.getTitle());
-        existingMovie.setDirector(dto.getDirector());
+        existingMovie.setDirector(movieDimensions.canonicalDirector(dto.getDirector()));
         existingMovie.setReleaseYear(dto.getReleaseYear());
-        existingMovie.setGenre(dto.getGenre());
+        existingMovie.setGenre(movieDimensions.canonicalGenre(dto.getGenre()));
         existingMovie.setImdbRating(dto.getImdbRating());
 
+        // the flush issues "update ... where id = ? and version = ?" and fails if another writer got there first
         try {
-            movieRepository.save(existingMovie);
+            movieRepository.saveAndFlush(existingMovie);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e, new DatabaseException("Error occurred while updating the movie in the database"));
         } catch (Exception e) {
             throw new DatabaseException("Error occurred while updating the movie in the database");
         }
 
-        return movieMapper.toDTO(existingMovie);
+        MovieResponse updated = movieMapper.toDTO(existingMovie);
+        eventPublisher.publishEvent(new MovieChangedEvent(MovieChangedEvent.Type.UPDATED, id, updated, previous,
+                existingMovie.getVersion()));
+        return new VersionedMovie(updated, existingMovie.getVersion(), existingMovie.getUpdatedAt());
     }
 
     @Override
@@ -94,36 +295,50 @@ public class MovieServiceImpl implements MovieService {
             throw new BadRequestException("ID must be a positive number");
         }
 
-        if (!movieRepository.existsById(id)) {
-            throw new EntityDeletionException("Movie with ID " + id + " cannot be deleted because it does not exist");
-        }
-
         try {
-            movieRepository.deleteById(id);
+            Long deletedVersion = transactionTemplate.execute(status -> {
+                MovieEntity existingMovie = movieRepository.findById(id)
+                        .orElseThrow(() -> new EntityDeletionException(
+                                "Movie with ID " + id + " cannot be deleted because it does not exist"));
+                MovieResponse previous = movieMapper.toDTO(existingMovie);
+                movieRepository.delete(existingMovie);
+                eventPublisher.publishEvent(new MovieChangedEvent(MovieChangedEvent.Type.DELETED, id, null, previous,
+                        existingMovie.getVersion()));
+                return existingMovie.getVersion();
+            });
+            cacheMovie(id, VersionedMovie.deleted(deletedVersion));
+        } catch (EntityDeletionException e) {
+            throw e;
         } catch (Exception e) {
             throw new MovieAlreadyDeletedException("Movie with ID " + id + " has already been deleted");
         }
     }
 
-    private void validateMovieRequest(MovieRequest dto) {
-        if (dto.getReleaseYear() < 1888 || dto.getReleaseYear() > 2100) {
-            throw new InvalidYearException("Release year must be between 1888 and 2100");
-        }
-
-        if (dto.getImdbRating() < 0 || dto.getImdbRating() > 10) {
-            throw new InvalidRatingException("IMDb rating must be between 0 and 10");
-        }
-
-        if (dto.getTitle() == null || dto.getTitle().isEmpty()) {
-            throw new ValidationException("Title must not be null or empty");
+    // only called once the write has committed, so the cache never holds a rolled-back version
+    private void cacheMovie(Long id, VersionedMovie movie) {
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES_CACHE);
+        if (cache != null) {
+            cache.put(id, movie);
         }
+    }
 
-        if (dto.getDirector() == null || dto.getDirector().isEmpty()) {
-            throw new ValidationException("Director must not be null or empty");
+    private static RuntimeException duplicateOr(DataIntegrityViolationException e, RuntimeException otherwise) {
+        // commit-time failures arrive wrapped once more than flush-time ones, so walk the whole chain
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(MovieEntity.TITLE_DIRECTOR_KEY_MARKER)) {
+                return new DuplicateMovieException("Movie with the same title, director and release year already exists");
+            }
         }
+        return otherwise;
+    }
 
-        if (dto.getGenre() == null || dto.getGenre().isEmpty()) {
-            throw new ValidationException("Genre must not be null or empty");
+    // one pass over the request collects every violation, so the client sees all of them in one response
+    static void validateMovieRequest(MovieRequest dto) {
+        List<FieldViolation> violations = MovieRequestValidator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations);
         }
     }
     }
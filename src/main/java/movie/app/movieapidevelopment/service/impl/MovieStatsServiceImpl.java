@@ -0,0 +1,34 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.dto.response.MovieStatsResponse;
+import movie.app.movieapidevelopment.exceptions.BadRequestException;
+import movie.app.movieapidevelopment.service.MovieStatsService;
+import movie.app.movieapidevelopment.stats.MovieStatistics;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.SERVLET)
+public class MovieStatsServiceImpl implements MovieStatsService {
+
+    private static final int MAX_TOP_DIRECTORS = 100;
+
+    private final MovieStatistics movieStatistics;
+
+    @Override
+    public MovieStatsResponse getStats(int topDirectors) {
+        if (topDirectors < 0 || topDirectors > MAX_TOP_DIRECTORS) {
+            throw new BadRequestException("topDirectors must be between 0 and " + MAX_TOP_DIRECTORS);
+        }
+
+        MovieStatsResponse stats = movieStatistics.snapshot();
+        if (stats.getTopDirectors().size() <= topDirectors) {
+            return stats;
+        }
+        return new MovieStatsResponse(stats.getTotalMovies(), stats.getGenres(), stats.getDecades(),
+                stats.getTopDirectors().subList(0, topDirectors));
+    }
+}
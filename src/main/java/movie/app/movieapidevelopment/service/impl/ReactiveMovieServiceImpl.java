@@ -0,0 +1,131 @@
+package movie.app.movieapidevelopment.service.impl;
+
+import lombok.AllArgsConstructor;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.repository.ReactiveMovieRepository;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.*;
+import movie.app.movieapidevelopment.pagination.MovieCursor;
+import movie.app.movieapidevelopment.pagination.MovieSort;
+import movie.app.movieapidevelopment.pagination.MovieSortField;
+import movie.app.movieapidevelopment.service.ReactiveMovieService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Profile(StackProfiles.REACTIVE)
+public class ReactiveMovieServiceImpl implements ReactiveMovieService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Writes reach the change feed through the outbox row ReactiveMovieRepository writes with them. Nothing here
+    // listens for MovieChangedEvent; the caches, statistics, search and leaderboards are servlet-stack only.
+    private final ReactiveMovieRepository movieRepository;
+
+    @Override
+    public Mono<MoviePageResponse> getAllMovies(MovieFilter filter, String after, int limit) {
+
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        if (filter.getYearFrom() != null && filter.getYearTo() != null && filter.getYearFrom() > filter.getYearTo()) {
+            return Mono.error(new BadRequestException("yearFrom must not be after yearTo"));
+        }
+
+        return Mono.defer(() -> {
+            MovieSort sort = MovieSort.parse(filter.getSort());
+            MovieCursor cursor = MovieCursor.decode(after);
+            Long lastId = cursor == null ? null : cursor.getLastId();
+            Object lastValue = cursor == null || sort.getField() == MovieSortField.ID
+                    ? null
+                    : sort.getField().parseValue(cursor.getSortValue());
+
+            return movieRepository.findPage(filter, sort, lastId, lastValue, limit + 1)
+                    .collectList()
+                    .flatMap(movies -> {
+                        if (movies.isEmpty() && cursor == null && !filter.hasCriteria()) {
+                            return Mono.error(new EmptyDatabaseException("No movies found in the database"));
+                        }
+                        return Mono.just(toPage(movies, sort, limit));
+                    });
+        });
+    }
+
+    @Override
+    public Flux<MovieResponse> streamAllMovies() {
+        return movieRepository.streamAll();
+    }
+
+    @Override
+    public Mono<MovieResponse> getMovieById(Long id) {
+
+        if (id <= 0) {
+            return Mono.error(new BadRequestException("ID must be a positive number"));
+        }
+
+        return movieRepository.findById(id)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Movie with ID " + id + " not found")));
+    }
+
+    @Override
+    public Mono<MovieResponse> addMovie(MovieRequest dto) {
+
+        return Mono.fromRunnable(() -> MovieServiceImpl.validateMovieRequest(dto))
+                .then(movieRepository.insert(dto)
+                        .onErrorMap(e -> e instanceof DataIntegrityViolationException
+                                ? duplicateMovie()
+                                : new DatabaseException("Error occurred while saving the movie to the database")));
+    }
+
+    @Override
+    public Mono<MovieResponse> updateMovie(Long id, MovieRequest dto) {
+        if (id <= 0) {
+            return Mono.error(new BadRequestException("ID must be a positive number"));
+        }
+
+        return Mono.fromRunnable(() -> MovieServiceImpl.validateMovieRequest(dto))
+                .then(movieRepository.update(id, dto)
+                        .onErrorMap(e -> e instanceof DataIntegrityViolationException
+                                ? duplicateMovie()
+                                : new DatabaseException("Error occurred while updating the movie in the database")))
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Movie with ID " + id + " not found")));
+    }
+
+    @Override
+    public Mono<Void> deleteMovie(Long id) {
+        if (id <= 0) {
+            return Mono.error(new BadRequestException("ID must be a positive number"));
+        }
+
+        return movieRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new EntityDeletionException(
+                        "Movie with ID " + id + " cannot be deleted because it does not exist"))
+                        : Mono.<Void>empty());
+    }
+
+    // the unique key on (title, director, release year) is the only integrity constraint validation does not already cover
+    private static DuplicateMovieException duplicateMovie() {
+        return new DuplicateMovieException("Movie with the same title, director and release year already exists");
+    }
+
+    private static MoviePageResponse toPage(List<MovieResponse> movies, MovieSort sort, int limit) {
+        // one extra row tells us whether another page exists without a count query
+        if (movies.size() <= limit) {
+            return new MoviePageResponse(movies, null);
+        }
+        List<MovieResponse> items = movies.subList(0, limit);
+        MovieResponse last = items.get(limit - 1);
+        String sortValue = sort.getField() == MovieSortField.ID ? null : sort.getField().valueOf(last);
+        return new MoviePageResponse(items, MovieCursor.encode(last.getId(), sortValue));
+    }
+}
@@ -0,0 +1,263 @@
+package movie.app.movieapidevelopment.stats;
+
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.dto.response.DecadeStatsResponse;
+import movie.app.movieapidevelopment.dto.response.DirectorStatsResponse;
+import movie.app.movieapidevelopment.dto.response.GenreStatsResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.dto.response.MovieStatsResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieStatistics {
+
+    static final int FIRST_DECADE = 1880;
+    static final int LAST_DECADE = 2100;
+    static final int MAX_TOP_DIRECTORS = 100;
+
+    private final Lock lock = new ReentrantLock();
+    private Totals totals = new Totals();
+    // last change feed seq in the totals; -1 until the first rebuild
+    private long appliedSeq = -1;
+    // changes in the rebuilt totals that the relay had not numbered yet, skipped when their seq comes along
+    private Set<Long> counted = new HashSet<>();
+    private volatile MovieStatsResponse snapshot;
+
+    // Applies published changes in seq order, fed by MovieStatisticsReconciler. Returns false, applying nothing,
+    // if the totals are no longer at since because a rebuild replaced them in the meantime.
+    public boolean applyChanges(long since, List<MovieChangeEntity> changes) {
+        lock.lock();
+        try {
+            if (appliedSeq != since) {
+                return false;
+            }
+            for (MovieChangeEntity change : changes) {
+                if (!counted.remove(change.getId())) {
+                    apply(change);
+                }
+                appliedSeq = change.getSeq();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(MovieChangeEntity change) {
+        MovieResponse previous = change.getPreviousDirector() == null ? null : new MovieResponse(change.getMovieId(),
+                change.getTitle(), change.getPreviousDirector(), change.getPreviousReleaseYear(),
+                change.getPreviousGenre(), change.getPreviousImdbRating());
+        // without the previous state the delta is unknown; the next reconciliation picks it up
+        if (change.getType() != MovieChangedEvent.Type.CREATED && previous == null) {
+            return;
+        }
+        MovieResponse current = change.getType() == MovieChangedEvent.Type.DELETED ? null
+                : new MovieResponse(change.getMovieId(), change.getTitle(), change.getDirector(),
+                change.getReleaseYear(), change.getGenre(), change.getImdbRating());
+        apply(previous, current);
+    }
+
+    public void apply(MovieResponse previous, MovieResponse current) {
+        lock.lock();
+        try {
+            if (previous != null) {
+                totals.add(previous.getGenre(), previous.getDirector(), previous.getReleaseYear(),
+                        previous.getImdbRating(), -1);
+            }
+            if (current != null) {
+                totals.add(current.getGenre(), current.getDirector(), current.getReleaseYear(),
+                        current.getImdbRating(), 1);
+            }
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public MovieStatsResponse snapshot() {
+        MovieStatsResponse current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            // rebuilt at most once per batch of changes, reads in between are a volatile load
+            if (snapshot == null) {
+                snapshot = totals.toResponse();
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long appliedSeq() {
+        lock.lock();
+        try {
+            return appliedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Swaps in totals rebuilt from the database as of seq, plus the unnumbered changes they already contain.
+    // Changes past seq are applied again on top. Returns whether the totals had drifted, as far as that can be
+    // told: only when the old totals were at the same seq.
+    boolean replace(Totals rebuilt, long seq, Set<Long> unpublished) {
+        lock.lock();
+        try {
+            boolean drifted = appliedSeq == seq && unpublished.isEmpty() && !totals.sameCounts(rebuilt);
+            totals = rebuilt;
+            appliedSeq = seq;
+            counted = new HashSet<>(unpublished);
+            snapshot = null;
+            return drifted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static final class Totals {
+
+        private static final Comparator<DirectorTotal> RANKING = Comparator
+                .comparingLong((DirectorTotal director) -> director.count).reversed()
+                .thenComparing(director -> director.name);
+
+        private final Map<String, GenreTotal> genres = new HashMap<>();
+        private final long[] decades = new long[(LAST_DECADE - FIRST_DECADE) / 10 + 1];
+        private final Map<String, DirectorTotal> directors = new HashMap<>();
+        private final TreeSet<DirectorTotal> directorRanking = new TreeSet<>(RANKING);
+        private long total;
+
+        void add(String genre, String director, int releaseYear, double rating, int sign) {
+            total += sign;
+
+            GenreTotal genreTotal = genres.computeIfAbsent(genre, GenreTotal::new);
+            genreTotal.count += sign;
+            genreTotal.ratingSum += sign * rating;
+            if (genreTotal.count <= 0) {
+                genres.remove(genre);
+            }
+
+            decades[decadeIndex(releaseYear)] += sign;
+
+            DirectorTotal directorTotal = directors.computeIfAbsent(director, DirectorTotal::new);
+            // the ranking is ordered by count, so the entry has to leave the set while it changes
+            directorRanking.remove(directorTotal);
+            directorTotal.count += sign;
+            if (directorTotal.count <= 0) {
+                directors.remove(director);
+            } else {
+                directorRanking.add(directorTotal);
+            }
+        }
+
+        void addGenre(String genre, long count, double ratingSum) {
+            GenreTotal genreTotal = genres.computeIfAbsent(genre, GenreTotal::new);
+            genreTotal.count += count;
+            genreTotal.ratingSum += ratingSum;
+            total += count;
+        }
+
+        void addReleaseYear(int releaseYear, long count) {
+            decades[decadeIndex(releaseYear)] += count;
+        }
+
+        void addDirector(String director, long count) {
+            DirectorTotal directorTotal = directors.computeIfAbsent(director, DirectorTotal::new);
+            directorRanking.remove(directorTotal);
+            directorTotal.count += count;
+            directorRanking.add(directorTotal);
+        }
+
+        boolean sameCounts(Totals other) {
+            if (total != other.total || genres.size() != other.genres.size()
+                    || directors.size() != other.directors.size()) {
+                return false;
+            }
+            for (int i = 0; i < decades.length; i++) {
+                if (decades[i] != other.decades[i]) {
+                    return false;
+                }
+            }
+            for (GenreTotal genre : genres.values()) {
+                GenreTotal otherGenre = other.genres.get(genre.name);
+                if (otherGenre == null || otherGenre.count != genre.count) {
+                    return false;
+                }
+            }
+            for (DirectorTotal director : directors.values()) {
+                DirectorTotal otherDirector = other.directors.get(director.name);
+                if (otherDirector == null || otherDirector.count != director.count) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        MovieStatsResponse toResponse() {
+            List<GenreStatsResponse> genreStats = new ArrayList<>(genres.size());
+            for (GenreTotal genre : genres.values()) {
+                genreStats.add(new GenreStatsResponse(genre.name, genre.count, genre.ratingSum / genre.count));
+            }
+            genreStats.sort(Comparator.comparing(GenreStatsResponse::getGenre));
+
+            List<DecadeStatsResponse> decadeStats = new ArrayList<>();
+            for (int i = 0; i < decades.length; i++) {
+                if (decades[i] > 0) {
+                    decadeStats.add(new DecadeStatsResponse(FIRST_DECADE + i * 10, decades[i]));
+                }
+            }
+
+            List<DirectorStatsResponse> directorStats = new ArrayList<>(MAX_TOP_DIRECTORS);
+            for (DirectorTotal director : directorRanking) {
+                if (directorStats.size() == MAX_TOP_DIRECTORS) {
+                    break;
+                }
+                directorStats.add(new DirectorStatsResponse(director.name, director.count));
+            }
+
+            return new MovieStatsResponse(total, List.copyOf(genreStats), List.copyOf(decadeStats),
+                    List.copyOf(directorStats));
+        }
+
+        private static int decadeIndex(int releaseYear) {
+            int year = Math.max(FIRST_DECADE, Math.min(LAST_DECADE, releaseYear));
+            return (year - FIRST_DECADE) / 10;
+        }
+    }
+
+    private static final class GenreTotal {
+        private final String name;
+        private long count;
+        private double ratingSum;
+
+        private GenreTotal(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class DirectorTotal {
+        private final String name;
+        private long count;
+
+        private DirectorTotal(String name) {
+            this.name = name;
+        }
+    }
+}
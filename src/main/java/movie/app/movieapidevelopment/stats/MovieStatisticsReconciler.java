@@ -0,0 +1,137 @@
+package movie.app.movieapidevelopment.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.StackProfiles;
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.projection.MovieGroupTotal;
+import movie.app.movieapidevelopment.domain.projection.MovieYearTotal;
+import movie.app.movieapidevelopment.domain.repository.MovieChangeRepository;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps MovieStatistics in step with the database: rebuilt from GROUP BY queries at startup and every
+// reconcile-interval, and moved along by the published change feed in between, so writes committed on any
+// instance reach the totals.
+@Slf4j
+@Component
+@Profile(StackProfiles.SERVLET)
+public class MovieStatisticsReconciler {
+
+    static final int PAGE_SIZE = 1000;
+
+    private final MovieRepository movieRepository;
+    private final MovieChangeRepository movieChangeRepository;
+    private final MovieChangeFeed movieChangeFeed;
+    private final MovieStatistics movieStatistics;
+    private final TransactionTemplate snapshotTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock following = new ReentrantLock();
+    private Runnable cancelWait = () -> { };
+
+    public MovieStatisticsReconciler(MovieRepository movieRepository, MovieChangeRepository movieChangeRepository,
+                                     MovieChangeFeed movieChangeFeed, MovieStatistics movieStatistics,
+                                     PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.movieChangeRepository = movieChangeRepository;
+        this.movieChangeFeed = movieChangeFeed;
+        this.movieStatistics = movieStatistics;
+        // The GROUP BY queries and the feed position have to see the same snapshot. Not read-only: the routing
+        // data source would send it to a replica, whose log head can trail the primary's feed.
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        reconcile();
+        log.info("Built movie statistics in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${movie.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${movie.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        rebuildTotals();
+        follow();
+    }
+
+    // Applies the published changes past the statistics' seq, then waits for the next ones. Also scheduled,
+    // in case a wake-up was lost to a failed round.
+    @Scheduled(initialDelayString = "${movie.stats.follow-interval:PT10S}",
+            fixedDelayString = "${movie.stats.follow-interval:PT10S}")
+    public void follow() {
+        following.lock();
+        try {
+            cancelWait.run();
+            while (true) {
+                long since = movieStatistics.appliedSeq();
+                if (since < 0) {
+                    // not built yet
+                    return;
+                }
+                List<MovieChangeEntity> changes = transactionTemplate.execute(status ->
+                        movieChangeRepository.findBySeqGreaterThanOrderBySeqAsc(since, Limit.of(PAGE_SIZE)));
+                if (!changes.isEmpty() && changes.get(0).getSeq() != since + 1) {
+                    log.warn("Movie changes after seq {} were purged before the statistics applied them", since);
+                    rebuildTotals();
+                    continue;
+                }
+                // false when a reconciliation replaced the totals meanwhile; the loop reads from the new seq
+                boolean applied = movieStatistics.applyChanges(since, changes);
+                if (applied && changes.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            cancelWait = movieChangeFeed.awaitChanges(movieStatistics.appliedSeq(), this::follow);
+        } catch (RuntimeException e) {
+            log.warn("Applying movie changes to the statistics failed, retrying next round", e);
+        } finally {
+            following.unlock();
+        }
+    }
+
+    private void rebuildTotals() {
+        Rebuilt rebuilt = snapshotTemplate.execute(status -> load());
+        if (movieStatistics.replace(rebuilt.totals(), rebuilt.seq(), rebuilt.unpublished())) {
+            log.warn("Movie statistics drifted from the database and were rebuilt");
+        }
+    }
+
+    private Rebuilt load() {
+        // Rows this snapshot sees unnumbered are already in the totals when the relay numbers them later; any
+        // other row numbered after seq committed after the snapshot.
+        long seq = movieChangeRepository.findLastSeq().orElse(0L);
+        Set<Long> unpublished = new HashSet<>(movieChangeRepository.findUnpublishedIds());
+
+        MovieStatistics.Totals totals = new MovieStatistics.Totals();
+        for (MovieGroupTotal genre : movieRepository.totalsByGenre()) {
+            totals.addGenre(genre.getKey(), genre.getCount(), genre.getRatingSum());
+        }
+        for (MovieYearTotal year : movieRepository.totalsByReleaseYear()) {
+            totals.addReleaseYear(year.getReleaseYear(), year.getCount());
+        }
+        for (MovieGroupTotal director : movieRepository.totalsByDirector()) {
+            totals.addDirector(director.getKey(), director.getCount());
+        }
+        return new Rebuilt(totals, seq, unpublished);
+    }
+
+    private record Rebuilt(MovieStatistics.Totals totals, long seq, Set<Long> unpublished) {
+    }
+}
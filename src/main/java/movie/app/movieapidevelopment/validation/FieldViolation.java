@@ -0,0 +1,11 @@
+package movie.app.movieapidevelopment.validation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class FieldViolation {
+    private final String field;
+    private final String message;
+}
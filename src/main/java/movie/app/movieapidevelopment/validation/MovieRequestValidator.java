@@ -0,0 +1,78 @@
+package movie.app.movieapidevelopment.validation;
+
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The one validation pass for movie writes. Every check runs, so a client sees all of its mistakes at once;
+// violations are shared constants and a valid request allocates nothing. The limits match the columns in
+// MovieEntity and the constraint annotations on MovieRequest, which only document the schema.
+public final class MovieRequestValidator {
+
+    public static final int MIN_RELEASE_YEAR = 1888;
+    public static final int MAX_RELEASE_YEAR = 2100;
+    public static final int MAX_TITLE_LENGTH = 100;
+    public static final int MAX_DIRECTOR_LENGTH = 50;
+    public static final int MAX_GENRE_LENGTH = 30;
+
+    static final FieldViolation TITLE_BLANK = new FieldViolation("title", "Title cannot be blank");
+    static final FieldViolation TITLE_TOO_LONG = new FieldViolation("title",
+            "Title must be at most " + MAX_TITLE_LENGTH + " characters");
+    static final FieldViolation DIRECTOR_BLANK = new FieldViolation("director", "Director cannot be blank");
+    static final FieldViolation DIRECTOR_TOO_LONG = new FieldViolation("director",
+            "Director must be at most " + MAX_DIRECTOR_LENGTH + " characters");
+    static final FieldViolation GENRE_BLANK = new FieldViolation("genre", "Genre cannot be blank");
+    static final FieldViolation GENRE_TOO_LONG = new FieldViolation("genre",
+            "Genre must be at most " + MAX_GENRE_LENGTH + " characters");
+    static final FieldViolation RELEASE_YEAR_MISSING = new FieldViolation("releaseYear", "Release year is required");
+    static final FieldViolation RELEASE_YEAR_OUT_OF_RANGE = new FieldViolation("releaseYear",
+            "Release year must be between " + MIN_RELEASE_YEAR + " and " + MAX_RELEASE_YEAR);
+    static final FieldViolation RATING_MISSING = new FieldViolation("imdbRating", "IMDb rating is required");
+    static final FieldViolation RATING_OUT_OF_RANGE = new FieldViolation("imdbRating",
+            "IMDb rating must be between 0 and 10");
+
+    private MovieRequestValidator() {
+    }
+
+    // empty when the request is valid
+    public static List<FieldViolation> validate(MovieRequest dto) {
+        List<FieldViolation> violations = null;
+        violations = text(dto.getTitle(), MAX_TITLE_LENGTH, TITLE_BLANK, TITLE_TOO_LONG, violations);
+        violations = text(dto.getDirector(), MAX_DIRECTOR_LENGTH, DIRECTOR_BLANK, DIRECTOR_TOO_LONG, violations);
+        violations = text(dto.getGenre(), MAX_GENRE_LENGTH, GENRE_BLANK, GENRE_TOO_LONG, violations);
+
+        Integer releaseYear = dto.getReleaseYear();
+        if (releaseYear == null) {
+            violations = add(violations, RELEASE_YEAR_MISSING);
+        } else if (releaseYear < MIN_RELEASE_YEAR || releaseYear > MAX_RELEASE_YEAR) {
+            violations = add(violations, RELEASE_YEAR_OUT_OF_RANGE);
+        }
+
+        Float rating = dto.getImdbRating();
+        if (rating == null) {
+            violations = add(violations, RATING_MISSING);
+        } else if (!(rating >= 0 && rating <= 10)) {
+            // also rejects NaN
+            violations = add(violations, RATING_OUT_OF_RANGE);
+        }
+        return violations == null ? List.of() : violations;
+    }
+
+    private static List<FieldViolation> text(String value, int maxLength, FieldViolation blank, FieldViolation tooLong,
+                                             List<FieldViolation> violations) {
+        if (value == null || value.isBlank()) {
+            return add(violations, blank);
+        }
+        if (value.length() > maxLength) {
+            return add(violations, tooLong);
+        }
+        return violations;
+    }
+
+    private static List<FieldViolation> add(List<FieldViolation> violations, FieldViolation violation) {
+        List<FieldViolation> list = violations == null ? new ArrayList<>(4) : violations;
+        list.add(violation);
+        return list;
+    }
+}
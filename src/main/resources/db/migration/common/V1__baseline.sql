@@ -0,0 +1,45 @@
+-- Schema for new databases. Databases created by ddl-auto before migrations existed are adopted at version 0
+-- and keep their movies table through IF NOT EXISTS; V1_1 brings that table up to this shape.
+
+CREATE SEQUENCE IF NOT EXISTS movies_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS movies (
+    id           BIGINT                   NOT NULL PRIMARY KEY,
+    title        VARCHAR(100)             NOT NULL,
+    director     VARCHAR(50)              NOT NULL,
+    release_year INTEGER                  NOT NULL,
+    genre        VARCHAR(30)              NOT NULL,
+    imdb_rating  REAL                     NOT NULL,
+    version      BIGINT                   NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_movies_title_director UNIQUE (title, director)
+);
+
+CREATE INDEX IF NOT EXISTS idx_movies_genre ON movies (genre);
+CREATE INDEX IF NOT EXISTS idx_movies_director ON movies (director);
+CREATE INDEX IF NOT EXISTS idx_movies_release_year ON movies (release_year);
+CREATE INDEX IF NOT EXISTS idx_movies_imdb_rating ON movies (imdb_rating);
+
+CREATE SEQUENCE IF NOT EXISTS movie_changes_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS movie_changes (
+    id            BIGINT                   NOT NULL PRIMARY KEY,
+    seq           BIGINT,
+    type          VARCHAR(10)              NOT NULL,
+    movie_id      BIGINT                   NOT NULL,
+    movie_version BIGINT,
+    title         VARCHAR(100),
+    director      VARCHAR(50),
+    release_year  INTEGER,
+    genre         VARCHAR(30),
+    imdb_rating   REAL,
+    changed_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_movie_changes_seq ON movie_changes (seq);
+CREATE INDEX IF NOT EXISTS idx_movie_changes_changed_at ON movie_changes (changed_at);
+
+CREATE TABLE IF NOT EXISTS movie_change_log_head (
+    id       INTEGER NOT NULL PRIMARY KEY,
+    last_seq BIGINT  NOT NULL
+);
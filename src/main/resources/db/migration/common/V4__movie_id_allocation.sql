@@ -0,0 +1,3 @@
+-- One nextval per JDBC batch (hibernate.jdbc.batch_size). MovieEntity's allocationSize has to match;
+-- instances still running with 50 keep drawing disjoint ranges, each call now reserves 100 ids.
+ALTER SEQUENCE movies_seq INCREMENT BY 100;
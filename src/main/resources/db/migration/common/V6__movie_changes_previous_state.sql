@@ -0,0 +1,5 @@
+-- The state a change replaced, so consumers such as the statistics can apply it as a delta; all null for creates.
+ALTER TABLE movie_changes ADD COLUMN previous_director VARCHAR(50);
+ALTER TABLE movie_changes ADD COLUMN previous_release_year INTEGER;
+ALTER TABLE movie_changes ADD COLUMN previous_genre VARCHAR(30);
+ALTER TABLE movie_changes ADD COLUMN previous_imdb_rating REAL;
@@ -0,0 +1,9 @@
+-- H2 version of postgresql/V1_1__adopt_hibernate_schema.sql; H2 has no setval, RESTART WITH sets the next value.
+
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE movies ADD CONSTRAINT IF NOT EXISTS uk_movies_title_director UNIQUE (title, director);
+
+CREATE INDEX IF NOT EXISTS idx_movies_updated_at ON movies (updated_at);
+
+ALTER SEQUENCE movies_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 100 FROM movies);
@@ -0,0 +1,39 @@
+-- H2 version of postgresql/V2__movie_dimensions.sql for embedded and test databases, which are always
+-- migrated from empty; H2 has no UPDATE ... FROM and takes one action per ALTER TABLE.
+
+CREATE TABLE genres (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(30) NOT NULL,
+    CONSTRAINT uk_genres_name UNIQUE (name)
+);
+
+CREATE TABLE directors (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_directors_name UNIQUE (name)
+);
+
+INSERT INTO genres (name) SELECT DISTINCT genre FROM movies ORDER BY genre;
+INSERT INTO directors (name) SELECT DISTINCT director FROM movies ORDER BY director;
+
+ALTER TABLE movies ADD COLUMN genre_id INTEGER;
+ALTER TABLE movies ADD COLUMN director_id INTEGER;
+
+UPDATE movies
+SET genre_id = (SELECT g.id FROM genres g WHERE g.name = movies.genre),
+    director_id = (SELECT d.id FROM directors d WHERE d.name = movies.director);
+
+ALTER TABLE movies ALTER COLUMN genre_id SET NOT NULL;
+ALTER TABLE movies ALTER COLUMN director_id SET NOT NULL;
+ALTER TABLE movies ADD CONSTRAINT fk_movies_genre FOREIGN KEY (genre_id) REFERENCES genres (id);
+ALTER TABLE movies ADD CONSTRAINT fk_movies_director FOREIGN KEY (director_id) REFERENCES directors (id);
+ALTER TABLE movies DROP CONSTRAINT uk_movies_title_director;
+ALTER TABLE movies ADD CONSTRAINT uk_movies_title_director UNIQUE (title, director_id);
+
+DROP INDEX idx_movies_genre;
+DROP INDEX idx_movies_director;
+ALTER TABLE movies DROP COLUMN genre;
+ALTER TABLE movies DROP COLUMN director;
+
+CREATE INDEX idx_movies_genre ON movies (genre_id);
+CREATE INDEX idx_movies_director ON movies (director_id);
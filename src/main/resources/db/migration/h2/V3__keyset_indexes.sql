@@ -0,0 +1,10 @@
+-- H2 version of postgresql/V3__keyset_indexes.sql; H2 has no concurrent index builds.
+
+CREATE INDEX IF NOT EXISTS idx_movies_release_year_id ON movies (release_year, id);
+CREATE INDEX IF NOT EXISTS idx_movies_imdb_rating_id ON movies (imdb_rating, id);
+CREATE INDEX IF NOT EXISTS idx_movies_genre_rating_id ON movies (genre_id, imdb_rating, id);
+CREATE INDEX IF NOT EXISTS idx_movies_title_id ON movies (title, id);
+
+DROP INDEX IF EXISTS idx_movies_release_year;
+DROP INDEX IF EXISTS idx_movies_imdb_rating;
+DROP INDEX IF EXISTS idx_movies_genre;
@@ -0,0 +1,4 @@
+-- Same natural key as the release_year-partitioned PostgreSQL table (postgresql/V5); H2 is not partitioned.
+
+ALTER TABLE movies DROP CONSTRAINT uk_movies_title_director;
+ALTER TABLE movies ADD CONSTRAINT uk_movies_title_director_year UNIQUE (title, director_id, release_year);
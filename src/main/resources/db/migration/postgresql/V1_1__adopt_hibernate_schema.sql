@@ -0,0 +1,22 @@
+-- Upgrades a movies table created by ddl-auto (IDENTITY ids, no version or updated_at, no natural key) to
+-- V1; on a database created by V1 every statement is a no-op. Duplicate (title, director) rows in an adopted
+-- table make the constraint fail and have to be cleaned up first.
+
+ALTER TABLE movies
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'movies'::regclass AND conname = 'uk_movies_title_director') THEN
+        ALTER TABLE movies ADD CONSTRAINT uk_movies_title_director UNIQUE (title, director);
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_movies_updated_at ON movies (updated_at);
+
+-- Hibernate's pooled optimizer treats each nextval as the top of a block of allocationSize ids, so the next
+-- value has to clear the highest existing id by a whole block
+SELECT setval('movies_seq', COALESCE(MAX(id), 0) + 100, false) FROM movies;
@@ -0,0 +1,44 @@
+-- Moves genre and director into lookup tables. The backfill rewrites every movie row once, in this
+-- transaction; on a large table run it in a maintenance window.
+
+CREATE TABLE genres (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(30) NOT NULL,
+    CONSTRAINT uk_genres_name UNIQUE (name)
+);
+
+CREATE TABLE directors (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_directors_name UNIQUE (name)
+);
+
+INSERT INTO genres (name) SELECT DISTINCT genre FROM movies ORDER BY genre;
+INSERT INTO directors (name) SELECT DISTINCT director FROM movies ORDER BY director;
+
+ALTER TABLE movies
+    ADD COLUMN genre_id INTEGER,
+    ADD COLUMN director_id INTEGER;
+
+UPDATE movies m
+SET genre_id = g.id,
+    director_id = d.id
+FROM genres g, directors d
+WHERE g.name = m.genre
+  AND d.name = m.director;
+
+ALTER TABLE movies
+    ALTER COLUMN genre_id SET NOT NULL,
+    ALTER COLUMN director_id SET NOT NULL,
+    ADD CONSTRAINT fk_movies_genre FOREIGN KEY (genre_id) REFERENCES genres (id),
+    ADD CONSTRAINT fk_movies_director FOREIGN KEY (director_id) REFERENCES directors (id),
+    DROP CONSTRAINT uk_movies_title_director,
+    ADD CONSTRAINT uk_movies_title_director UNIQUE (title, director_id);
+
+-- dropping the columns also drops their indexes
+ALTER TABLE movies
+    DROP COLUMN genre,
+    DROP COLUMN director;
+
+CREATE INDEX idx_movies_genre ON movies (genre_id);
+CREATE INDEX idx_movies_director ON movies (director_id);
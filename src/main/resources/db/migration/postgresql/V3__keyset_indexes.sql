@@ -0,0 +1,15 @@
+-- Indexes for the keyset listing: every sort orders by (field, id), and genre filters are most often
+-- combined with the rating sort. Built CONCURRENTLY so writes continue while they are created, which
+-- makes Flyway run this script outside a transaction (spring.flyway.postgresql.transactional-lock is
+-- off for the same reason). A build that fails halfway leaves an INVALID index behind that IF NOT
+-- EXISTS would keep; drop it by hand before re-running.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movies_release_year_id ON movies (release_year, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movies_imdb_rating_id ON movies (imdb_rating, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movies_genre_rating_id ON movies (genre_id, imdb_rating, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movies_title_id ON movies (title, id);
+
+-- the composites above start with the same columns
+DROP INDEX CONCURRENTLY IF EXISTS idx_movies_release_year;
+DROP INDEX CONCURRENTLY IF EXISTS idx_movies_imdb_rating;
+DROP INDEX CONCURRENTLY IF EXISTS idx_movies_genre;
@@ -0,0 +1,58 @@
+-- Range-partitions movies on release_year, one partition per decade from the 1880s to the decade after the
+-- current one, plus a default partition for anything outside them. MoviePartitionMaintainer creates later
+-- decades ahead of time and moves rows that landed in the default partition into a decade of their own.
+--
+-- Keys of a partitioned table have to contain the partition key: the primary key becomes (id, release_year)
+-- and the natural key (title, director_id, release_year). Ids still come from movies_seq alone.
+--
+-- The rows are copied in this script's transaction while the old table is locked; on a large table run it
+-- in a maintenance window.
+
+CREATE TABLE movies_partitioned (
+    id           BIGINT                      NOT NULL,
+    title        VARCHAR(100)                NOT NULL,
+    release_year INTEGER                     NOT NULL,
+    imdb_rating  REAL                        NOT NULL,
+    version      BIGINT                      NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    genre_id     INTEGER                     NOT NULL,
+    director_id  INTEGER                     NOT NULL
+) PARTITION BY RANGE (release_year);
+
+DO $$
+BEGIN
+    FOR decade IN 1880..2030 BY 10 LOOP
+        EXECUTE format('CREATE TABLE movies_%ss PARTITION OF movies_partitioned FOR VALUES FROM (%s) TO (%s)',
+                       decade, decade, decade + 10);
+    END LOOP;
+END
+$$;
+
+CREATE TABLE movies_default PARTITION OF movies_partitioned DEFAULT;
+
+INSERT INTO movies_partitioned (id, title, release_year, imdb_rating, version, updated_at, genre_id, director_id)
+SELECT id, title, release_year, imdb_rating, version, updated_at, genre_id, director_id
+FROM movies;
+
+-- also drops the old indexes and constraints, whose names are reused below
+DROP TABLE movies;
+ALTER TABLE movies_partitioned RENAME TO movies;
+
+ALTER TABLE movies
+    ADD CONSTRAINT pk_movies PRIMARY KEY (id, release_year),
+    ADD CONSTRAINT uk_movies_title_director_year UNIQUE (title, director_id, release_year),
+    ADD CONSTRAINT fk_movies_genre FOREIGN KEY (genre_id) REFERENCES genres (id),
+    ADD CONSTRAINT fk_movies_director FOREIGN KEY (director_id) REFERENCES directors (id);
+
+-- created on every partition; with release_year first, a year-range listing reads each partition in order
+CREATE INDEX idx_movies_release_year_id ON movies (release_year, id);
+CREATE INDEX idx_movies_imdb_rating_id ON movies (imdb_rating, id);
+CREATE INDEX idx_movies_genre_rating_id ON movies (genre_id, imdb_rating, id);
+CREATE INDEX idx_movies_title_id ON movies (title, id);
+CREATE INDEX idx_movies_director ON movies (director_id);
+CREATE INDEX idx_movies_updated_at ON movies (updated_at);
+
+-- archived partitions are moved here (POST /actuator/moviepartitions/{decade}, MoviePartitionEndpoint.archive)
+CREATE SCHEMA IF NOT EXISTS movies_archive;
+
+ANALYZE movies;
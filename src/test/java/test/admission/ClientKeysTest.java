@@ -0,0 +1,34 @@
+package test.admission;
+
+import movie.app.movieapidevelopment.admission.ClientKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientKeysTest {
+
+    private final ClientKeys clientKeys = new ClientKeys(Set.of("partner-1"));
+
+    @Test
+    void testOf_ConfiguredKeyIdentifiesClient() {
+        assertThat(clientKeys.of(request("partner-1"))).isEqualTo("key:partner-1");
+    }
+
+    @Test
+    void testOf_UnknownKeyFallsBackToRemoteAddress() {
+        assertThat(clientKeys.of(request("made-up"))).isEqualTo("ip:10.0.0.7");
+        assertThat(clientKeys.of(request(null))).isEqualTo("ip:10.0.0.7");
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/movies/1");
+        request.setRemoteAddr("10.0.0.7");
+        if (apiKey != null) {
+            request.addHeader(ClientKeys.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package test.admission;
+
+import movie.app.movieapidevelopment.admission.ClientRateLimiter;
+import movie.app.movieapidevelopment.admission.EndpointClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final ClientRateLimiter limiter = new ClientRateLimiter(10, 5, 1000, clock::get);
+
+    @Test
+    void testTryAcquire_AdmitsBurstThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ip:1")).isZero();
+        }
+
+        long wait = limiter.tryAcquire("ip:1");
+
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void testTryAcquire_RefillsAtConfiguredRate() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1");
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isPositive();
+    }
+
+    @Test
+    void testTryAcquire_KeepsClientsApart() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("ip:1");
+        }
+
+        assertThat(limiter.tryAcquire("ip:1")).isPositive();
+        assertThat(limiter.tryAcquire("key:export")).isZero();
+    }
+
+    @Test
+    void testEndpointClass_SeparatesListingsFromPointReads() {
+        assertThat(EndpointClass.of("GET", "/api/v1/movies")).isEqualTo(EndpointClass.LIST);
+        assertThat(EndpointClass.of("GET", "/api/v1/movies/stream")).isEqualTo(EndpointClass.LIST);
+        assertThat(EndpointClass.of("GET", "/api/v1/movies/42")).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(EndpointClass.of("POST", "/api/v1/movies/bulk")).isEqualTo(EndpointClass.WRITE);
+        assertThat(EndpointClass.of("POST", "/api/v1/movies/batch-get")).isEqualTo(EndpointClass.POINT_READ);
+        assertThat(EndpointClass.of("GET", "/api/v1/movies/changes")).isEqualTo(EndpointClass.UNBOUNDED);
+    }
+}
@@ -0,0 +1,74 @@
+package test.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.BulkImportResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.mapper.MovieMapper;
+import movie.app.movieapidevelopment.service.impl.MovieBulkImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MovieBulkImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MovieRepository movieRepository;
+    private TransactionTemplate transactionTemplate;
+    private MovieBulkImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        MovieMapper movieMapper = mock(MovieMapper.class);
+        when(movieMapper.toEntity(any())).thenAnswer(invocation -> new MovieEntity());
+        when(movieMapper.toDTO(any())).thenReturn(new MovieResponse());
+        transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new MovieBulkImportServiceImpl(movieRepository, movieMapper, mock(MovieDimensions.class),
+                transactionTemplate, mock(EntityManager.class), mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void testImportMovies_BrokenJsonKeepsSummaryOfEarlierRows() throws Exception {
+        BulkImportResponse response = service.importMovies(read(movie("Heat") + movie("Ronin") + "{\"title\": nope}"));
+
+        assertThat(response.getInserted()).isEqualTo(2);
+        assertThat(response.getError()).startsWith("Malformed movie after row 2");
+    }
+
+    @Test
+    void testImportMovies_RolledBackChunkIsReportedAsFailed() throws Exception {
+        when(movieRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_movies_title_director_year"));
+
+        BulkImportResponse response = service.importMovies(read(movie("Heat") + movie("Ronin") + movie("Heat")));
+
+        assertThat(response.getInserted()).isZero();
+        assertThat(response.getFailed()).isEqualTo(2);
+        // only the in-request repeat of Heat is a duplicate
+        assertThat(response.getDuplicates()).isEqualTo(1);
+    }
+
+    private MappingIterator<MovieRequest> read(String ndjson) throws Exception {
+        return objectMapper.readerFor(MovieRequest.class).readValues(ndjson);
+    }
+
+    private static String movie(String title) {
+        return "{\"title\": \"" + title + "\", \"director\": \"Michael Mann\", \"releaseYear\": 1995, "
+                + "\"genre\": \"Crime\", \"imdbRating\": 8.3}\n";
+    }
+}
@@ -0,0 +1,165 @@
+package test.cache;
+
+import jakarta.persistence.EntityManager;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.config.CacheConfig;
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.domain.entity.MovieEntity;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.exceptions.ResourceNotFoundException;
+import movie.app.movieapidevelopment.lookup.MovieLookupCoalescer;
+import movie.app.movieapidevelopment.mapper.MovieMapper;
+import movie.app.movieapidevelopment.service.MovieService;
+import movie.app.movieapidevelopment.service.impl.MovieServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The caching proxy around the real service, with the repository mocked out underneath
+@SpringJUnitConfig(MovieServiceCacheTest.Config.class)
+class MovieServiceCacheTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieMapper movieMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private MovieEntity entity;
+
+    @BeforeEach
+    void setUp() {
+        reset(movieRepository, movieMapper, transactionTemplate);
+        cacheManager.getCache(CacheConfig.MOVIES_CACHE).clear();
+
+        entity = new MovieEntity();
+        entity.setId(1L);
+        entity.setTitle("Heat");
+        entity.setDirector("Michael Mann");
+        entity.setReleaseYear(1995);
+        entity.setGenre("Crime");
+        entity.setImdbRating(8.3F);
+        entity.setVersion(0L);
+        entity.setUpdatedAt(Instant.EPOCH);
+
+        when(movieRepository.findVersionedByIds(any())).thenAnswer(invocation ->
+                List.of(new VersionedMovie(toResponse(entity), entity.getVersion(), entity.getUpdatedAt())));
+        when(movieRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(movieRepository.saveAndFlush(entity)).thenAnswer(invocation -> {
+            entity.setVersion(entity.getVersion() + 1);
+            return entity;
+        });
+        when(movieMapper.toDTO(any(MovieEntity.class))).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testGetMovieById_SecondCallIsServedFromCache() {
+        VersionedMovie first = movieService.getMovieById(1L);
+        VersionedMovie second = movieService.getMovieById(1L);
+
+        assertThat(second.getMovie().getTitle()).isEqualTo("Heat");
+        assertThat(second).isSameAs(first);
+        verify(movieRepository, times(1)).findVersionedByIds(any());
+    }
+
+    @Test
+    void testUpdateMovie_ReplacesCachedEntryWithNewVersion() {
+        movieService.getMovieById(1L);
+
+        movieService.updateMovie(1L, request("Heat", 8.5F), null);
+        VersionedMovie cached = movieService.getMovieById(1L);
+
+        assertThat(cached.getVersion()).isEqualTo(1);
+        assertThat(cached.getMovie().getImdbRating()).isEqualTo(8.5F);
+        verify(movieRepository, times(1)).findVersionedByIds(any());
+    }
+
+    @Test
+    void testDeleteMovie_DropsCachedEntry() {
+        movieService.getMovieById(1L);
+
+        movieService.deleteMovie(1L);
+        when(movieRepository.findVersionedByIds(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> movieService.getMovieById(1L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(movieRepository, times(2)).findVersionedByIds(any());
+    }
+
+    private static MovieRequest request(String title, float imdbRating) {
+        MovieRequest request = new MovieRequest();
+        request.setTitle(title);
+        request.setDirector("Michael Mann");
+        request.setReleaseYear(1995);
+        request.setGenre("Crime");
+        request.setImdbRating(imdbRating);
+        return request;
+    }
+
+    private static MovieResponse toResponse(MovieEntity movie) {
+        return new MovieResponse(movie.getId(), movie.getTitle(), movie.getDirector(), movie.getReleaseYear(),
+                movie.getGenre(), movie.getImdbRating());
+    }
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        @Bean
+        MovieRepository movieRepository() {
+            return mock(MovieRepository.class);
+        }
+
+        @Bean
+        MovieMapper movieMapper() {
+            return mock(MovieMapper.class);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate() {
+            return mock(TransactionTemplate.class);
+        }
+
+        @Bean
+        MovieService movieService(MovieRepository movieRepository, MovieMapper movieMapper,
+                                  TransactionTemplate transactionTemplate, CacheManager cacheManager) {
+            return new MovieServiceImpl(movieRepository, movieMapper, mock(MovieDimensions.class),
+                    mock(EntityManager.class), mock(ApplicationEventPublisher.class), transactionTemplate,
+                    new MovieLookupCoalescer(movieRepository), cacheManager, new MovieChangeFeed());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package test.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import movie.app.movieapidevelopment.config.VersionedMovieCache;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersionedMovieCacheTest {
+
+    private VersionedMovieCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VersionedMovieCache("movies", Caffeine.newBuilder().build(), true);
+    }
+
+    @Test
+    void testPut_StaleReadLosesToWritersVersion() {
+        cache.put(1L, movie(2, "After"));
+        cache.put(1L, movie(1, "Before"));
+
+        assertThat(cache.get(1L, VersionedMovie.class).getMovie().getTitle()).isEqualTo("After");
+        assertThat(cache.get(1L, VersionedMovie.class).getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void testPut_DeletedMovieReadsAsMissAndStaysDeleted() {
+        cache.put(1L, movie(1, "Heat"));
+        cache.put(1L, VersionedMovie.deleted(1));
+        cache.put(1L, movie(1, "Heat"));
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static VersionedMovie movie(long version, String title) {
+        return new VersionedMovie(new MovieResponse(1L, title, "Michael Mann", 1995, "Crime", 8.3f),
+                version, Instant.EPOCH);
+    }
+}
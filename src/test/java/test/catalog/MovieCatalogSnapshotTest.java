@@ -0,0 +1,107 @@
+package test.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import movie.app.movieapidevelopment.catalog.CatalogSnapshot;
+import movie.app.movieapidevelopment.catalog.MovieCatalogSnapshot;
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.service.MovieService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class MovieCatalogSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MovieChangeFeed feed = new MovieChangeFeed();
+    private MovieCatalogSnapshot snapshot;
+
+    private MovieService movieService;
+
+    @BeforeEach
+    void setUp() {
+        movieService = mock(MovieService.class);
+        doAnswer(invocation -> {
+            Consumer<MovieResponse> consumer = invocation.getArgument(0);
+            consumer.accept(new MovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F));
+            consumer.accept(new MovieResponse(2L, "Heat", "Michael Mann", 1995, "Crime", 8.3F));
+            return null;
+        }).when(movieService).streamAllMovies(any());
+        snapshot = new MovieCatalogSnapshot(movieService, feed, objectMapper, Duration.ofMillis(50),
+                Duration.ofMillis(200));
+    }
+
+    @Test
+    void testBuildInitial_PublishesJsonAndGzip() throws Exception {
+        snapshot.buildInitial();
+        await(() -> snapshot.current() != null);
+
+        CatalogSnapshot current = snapshot.current();
+        assertThat(current.getMovies()).isEqualTo(2);
+        assertThat(objectMapper.readValue(current.getJson(), MovieResponse[].class))
+                .extracting(MovieResponse::getTitle).containsExactly("Inception", "Heat");
+        assertThat(gunzip(current.getGzip())).isEqualTo(current.getJson());
+        assertThat(current.getETag()).startsWith("W/\"catalog-");
+    }
+
+    @Test
+    void testRequestRebuild_BurstOfChangesRebuildsOnce() throws Exception {
+        snapshot.buildInitial();
+        await(() -> snapshot.rebuilds() == 1);
+
+        for (long seq = 1; seq <= 100; seq++) {
+            feed.published(seq);
+            snapshot.requestRebuild();
+        }
+        await(() -> snapshot.rebuilds() == 2);
+        Thread.sleep(200);
+
+        assertThat(snapshot.rebuilds()).isEqualTo(2);
+        assertThat(snapshot.current().getSeq()).isEqualTo(100);
+    }
+
+    @Test
+    void testBuildInitial_FailedBuildIsRetriedWithoutAChange() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            Consumer<MovieResponse> consumer = invocation.getArgument(0);
+            consumer.accept(new MovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F));
+            return null;
+        }).when(movieService).streamAllMovies(any());
+
+        snapshot.buildInitial();
+        await(() -> snapshot.current() != null);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(snapshot.current().getMovies()).isEqualTo(1);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package test.changes;
+
+import movie.app.movieapidevelopment.changes.MovieChangeFeed;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieChangeFeedTest {
+
+    private final MovieChangeFeed feed = new MovieChangeFeed();
+
+    @Test
+    void testAwaitChanges_WakesOncePublishedPastSince() throws InterruptedException {
+        CountDownLatch woken = new CountDownLatch(1);
+        feed.awaitChanges(5, woken::countDown);
+
+        feed.published(5);
+        assertThat(woken.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+        feed.published(6);
+        assertThat(woken.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testCollectionVersion_MovesWithLocalCommitsAndPublishedSeqs() {
+        String initial = feed.collectionVersion();
+
+        feed.committedLocally();
+        String committed = feed.collectionVersion();
+        feed.published(4);
+
+        assertThat(committed).isNotEqualTo(initial);
+        assertThat(feed.collectionVersion()).isNotEqualTo(committed).isNotEqualTo(initial);
+        assertThat(new MovieChangeFeed().collectionVersion()).isNotEqualTo(initial);
+    }
+
+    @Test
+    void testAwaitChanges_WakesImmediatelyWhenAlreadyPublished() throws InterruptedException {
+        feed.published(10);
+        CountDownLatch woken = new CountDownLatch(1);
+
+        feed.awaitChanges(3, woken::countDown);
+
+        assertThat(woken.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testAwaitChanges_CancelledWaiterIsNotWoken() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Runnable cancel = feed.awaitChanges(0, calls::incrementAndGet);
+
+        cancel.run();
+        feed.published(1);
+        Thread.sleep(100);
+
+        assertThat(calls.get()).isZero();
+        assertThat(feed.publishedSeq()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublished_WakesEachWaiterOnlyOnce() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        feed.awaitChanges(0, calls::incrementAndGet);
+
+        feed.published(1);
+        feed.published(2);
+        Thread.sleep(100);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
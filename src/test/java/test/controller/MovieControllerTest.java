@@ -1,14 +1,22 @@
 package test.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedInputStream;
 import movie.app.movieapidevelopment.MovieapidevelopmentApplication;
 import movie.app.movieapidevelopment.controller.MovieController;
+import movie.app.movieapidevelopment.domain.projection.MovieUpsert;
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.dto.request.MovieFilter;
 import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.dto.response.MoviePageResponse;
 import movie.app.movieapidevelopment.dto.response.MovieResponse;
 import movie.app.movieapidevelopment.exceptions.BadRequestException;
 import movie.app.movieapidevelopment.exceptions.DatabaseException;
 import movie.app.movieapidevelopment.exceptions.ResourceNotFoundException;
+import movie.app.movieapidevelopment.exceptions.ValidationException;
+import movie.app.movieapidevelopment.protobuf.MovieProtobufCodec;
 import movie.app.movieapidevelopment.service.MovieService;
+import movie.app.movieapidevelopment.validation.FieldViolation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,12 +25,17 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -53,10 +66,11 @@ class MovieControllerTest {
     void setUp() {
         movieResponse = createMovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.2F);
 
-        when(movieService.getAllMovies()).thenReturn(List.of(movieResponse));
-        when(movieService.getMovieById(1L)).thenReturn(movieResponse);
+        when(movieService.getCollectionVersion()).thenReturn("a1-7-0");
+        when(movieService.getAllMovies(any(MovieFilter.class), isNull(), eq(100))).thenReturn(new MoviePageResponse(List.of(movieResponse), null));
+        when(movieService.getMovieById(1L)).thenReturn(new VersionedMovie(movieResponse, 3L, Instant.ofEpochSecond(1_700_000_000)));
         when(movieService.addMovie(any(MovieRequest.class))).thenReturn(movieResponse);
-        when(movieService.updateMovie(eq(1L), any(MovieRequest.class))).thenReturn(movieResponse);
+        when(movieService.updateMovie(eq(1L), any(MovieRequest.class), isNull())).thenReturn(movieResponse);
         doNothing().when(movieService).deleteMovie(1L);
     }
 
@@ -87,25 +101,66 @@ class MovieControllerTest {
         mockMvc.perform(get("/api/v1/movies")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].title", is("Inception")))
-                .andExpect(jsonPath("$[0].director", is("Christopher Nolan")))
-                .andExpect(jsonPath("$[0].releaseYear", is(2010)))
-                .andExpect(jsonPath("$[0].imdbRating").value(8.2));
-
-        verify(movieService, times(1)).getAllMovies();
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].title", is("Inception")))
+                .andExpect(jsonPath("$.items[0].director", is("Christopher Nolan")))
+                .andExpect(jsonPath("$.items[0].releaseYear", is(2010)))
+                .andExpect(jsonPath("$.items[0].imdbRating").value(8.2))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+
+        verify(movieService, times(1)).getAllMovies(any(MovieFilter.class), isNull(), eq(100));
     }
 
     @Test
     void testGetAllMovies_Empty() throws Exception {
-        when(movieService.getAllMovies()).thenReturn(Collections.emptyList());
+        when(movieService.getAllMovies(any(MovieFilter.class), isNull(), eq(100))).thenReturn(new MoviePageResponse(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/v1/movies"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        verify(movieService, times(1)).getAllMovies(any(MovieFilter.class), isNull(), eq(100));
+    }
+
+    @Test
+    void testGetAllMovies_NextPage() throws Exception {
+        when(movieService.getAllMovies(any(MovieFilter.class), eq("MQ"), eq(1))).thenReturn(new MoviePageResponse(List.of(movieResponse), "Mg"));
+
+        mockMvc.perform(get("/api/v1/movies")
+                        .param("after", "MQ")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("Mg")));
+
+        verify(movieService, times(1)).getAllMovies(any(MovieFilter.class), eq("MQ"), eq(1));
+    }
+
+    @Test
+    void testGetAllMovies_Filtered() throws Exception {
+        when(movieService.getAllMovies(argThat(filter -> "Sci-Fi".equals(filter.getGenre())
+                        && Integer.valueOf(2000).equals(filter.getYearFrom())
+                        && "imdbRating,desc".equals(filter.getSort())), isNull(), eq(100)))
+                .thenReturn(new MoviePageResponse(List.of(movieResponse), null));
+
+        mockMvc.perform(get("/api/v1/movies")
+                        .param("genre", "Sci-Fi")
+                        .param("yearFrom", "2000")
+                        .param("sort", "imdbRating,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].genre", is("Sci-Fi")));
+    }
+
+    @Test
+    void testGetAllMovies_UnsupportedSort() throws Exception {
+        when(movieService.getAllMovies(any(MovieFilter.class), isNull(), eq(100)))
+                .thenThrow(new BadRequestException("Unsupported sort: budget"));
 
-        verify(movieService, times(1)).getAllMovies();
+        mockMvc.perform(get("/api/v1/movies").param("sort", "budget"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Unsupported sort: budget"));
     }
 
     @Test
@@ -122,6 +177,76 @@ class MovieControllerTest {
         verify(movieService, times(1)).getMovieById(1L);
     }
 
+    @Test
+    void testGetMovieById_SetsValidators() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L));
+    }
+
+    @Test
+    void testGetMovieById_NotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // the tag is checked against the cached movie, there is no separate version query
+        verify(movieService, times(1)).getMovieById(1L);
+    }
+
+    @Test
+    void testGetMovieById_ModifiedSince() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:19 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    void testGetAllMovies_NotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/movies"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/movies").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        verify(movieService, times(1)).getAllMovies(any(MovieFilter.class), isNull(), eq(100));
+    }
+
+    @Test
+    void testGetMovieById_Cbor() throws Exception {
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(header().string("ETag", "\"1-3-cbor\""));
+
+        mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .accept("application/cbor")
+                        .header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testGetMovieById_Protobuf() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v1/movies/{id}", 1L)
+                        .accept(MovieProtobufCodec.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MovieProtobufCodec.APPLICATION_PROTOBUF))
+                .andExpect(header().string("ETag", "\"1-3-x-protobuf\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(MovieProtobufCodec.readMovie(CodedInputStream.newInstance(body))).isEqualTo(movieResponse);
+    }
+
     @Test
     void testGetMovieById_NotFound() throws Exception {
         when(movieService.getMovieById(999L)).thenThrow(new ResourceNotFoundException("Movie not found"));
@@ -173,6 +298,23 @@ class MovieControllerTest {
                 .andExpect(content().string("IMDb rating must be between 0 and 10"));
     }
 
+    @Test
+    void testAddMovie_InvalidFieldsReturnProblemDetail() throws Exception {
+        MovieRequest movieRequest = createMovieRequest("", "Christopher Nolan", 1700, "Sci-Fi", 8.8F);
+        when(movieService.addMovie(any(MovieRequest.class))).thenThrow(new ValidationException(List.of(
+                new FieldViolation("title", "Title cannot be blank"),
+                new FieldViolation("releaseYear", "Release year must be between 1888 and 2100"))));
+
+        mockMvc.perform(post("/api/v1/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(movieRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail", is("2 fields are invalid")))
+                .andExpect(jsonPath("$.errors", hasSize(2)))
+                .andExpect(jsonPath("$.errors[1].field", is("releaseYear")));
+    }
+
     @Test
     void testAddMovie_DatabaseError() throws Exception {
         MovieRequest movieRequest = createMovieRequest("Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F);
@@ -196,14 +338,72 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.title", is("Inception")));
 
-        verify(movieService, times(1)).updateMovie(eq(1L), any(MovieRequest.class));
+        verify(movieService, times(1)).updateMovie(eq(1L), any(MovieRequest.class), isNull());
+    }
+
+    @Test
+    void testUpdateMovie_IfMatchPassesExpectedVersion() throws Exception {
+        MovieRequest updateRequest = createMovieRequest("Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F);
+        when(movieService.updateMovie(eq(1L), any(MovieRequest.class), eq(3L))).thenReturn(movieResponse);
+
+        mockMvc.perform(put("/api/v1/movies/{id}", 1L)
+                        .header("If-Match", "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        verify(movieService, times(1)).updateMovie(eq(1L), any(MovieRequest.class), eq(3L));
+    }
+
+    @Test
+    void testUpdateMovie_IfMatchWithCborTagPassesExpectedVersion() throws Exception {
+        MovieRequest updateRequest = createMovieRequest("Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F);
+        when(movieService.updateMovie(eq(1L), any(MovieRequest.class), eq(3L))).thenReturn(movieResponse);
+
+        mockMvc.perform(put("/api/v1/movies/{id}", 1L)
+                        .header("If-Match", "\"1-3-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        verify(movieService, times(1)).updateMovie(eq(1L), any(MovieRequest.class), eq(3L));
+    }
+
+    @Test
+    void testUpdateMovie_IfMatchForAnotherMovie() throws Exception {
+        MovieRequest updateRequest = createMovieRequest("Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F);
+
+        mockMvc.perform(put("/api/v1/movies/{id}", 1L)
+                        .header("If-Match", "W/\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpsertMovie_CreatedAndUpdated() throws Exception {
+        MovieRequest request = createMovieRequest("Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F);
+        when(movieService.upsertMovie(any(MovieRequest.class)))
+                .thenReturn(new MovieUpsert(movieResponse, null, 0L, Instant.EPOCH))
+                .thenReturn(new MovieUpsert(movieResponse, movieResponse, 1L, Instant.EPOCH));
+
+        mockMvc.perform(put("/api/v1/movies/by-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(1)));
+
+        mockMvc.perform(put("/api/v1/movies/by-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
     }
 
     @Test
     void testUpdateMovie_NotFound() throws Exception {
         MovieRequest updateRequest = createMovieRequest("Unknown", "NoName", 2000, "Unknown", 5.0F);
 
-        when(movieService.updateMovie(eq(99L), any(MovieRequest.class)))
+        when(movieService.updateMovie(eq(99L), any(MovieRequest.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Movie not found to update"));
 
         mockMvc.perform(put("/api/v1/movies/{id}", 99L)
@@ -212,13 +412,13 @@ class MovieControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Movie not found to update"));
 
-        verify(movieService, times(1)).updateMovie(eq(99L), any(MovieRequest.class));
+        verify(movieService, times(1)).updateMovie(eq(99L), any(MovieRequest.class), isNull());
     }
 
     @Test
     void testUpdateMovie_BadRequest() throws Exception {
         MovieRequest updateRequest = createMovieRequest("Unknown", "NoName", 2000, "Unknown", 5.0F);
-        when(movieService.updateMovie(eq(0L), any(MovieRequest.class)))
+        when(movieService.updateMovie(eq(0L), any(MovieRequest.class), isNull()))
                 .thenThrow(new BadRequestException("ID must be positive"));
 
         mockMvc.perform(put("/api/v1/movies/{id}", 0)
@@ -0,0 +1,101 @@
+package test.datasource;
+
+import movie.app.movieapidevelopment.datasource.ReadYourWrites;
+import movie.app.movieapidevelopment.datasource.ReplicaNode;
+import movie.app.movieapidevelopment.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two in-memory H2 databases stand in for the primary and a replica; each knows its own name
+class ReplicaRoutingDataSourceTest {
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), 100);
+    private ReplicaNode replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = database("primary");
+        DriverManagerDataSource replicaDataSource = database("replica");
+        replica = new ReplicaNode("replica-0", replicaDataSource);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, List.of(replica), readYourWrites));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.unbind();
+    }
+
+    @Test
+    void testReadOnlyTransaction_RoutesToReplica() {
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> node())).isEqualTo("primary");
+    }
+
+    @Test
+    void testReadOnlyTransaction_StaysOnPrimaryAfterClientWrite() {
+        readYourWrites.bind("ip:10.0.0.1");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+
+        readYourWrites.bind("ip:10.0.0.2");
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    void testReadOnlyTransaction_RolledBackWriteDoesNotStick() {
+        readYourWrites.bind("ip:10.0.0.1");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("update node set name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+    }
+
+    @Test
+    void testReadOnlyTransaction_FallsBackToPrimaryWhenReplicaEvicted() {
+        replica.markDown();
+
+        assertThat(readOnly.execute(status -> node())).isEqualTo("primary");
+
+        replica.markUp();
+        assertThat(readOnly.execute(status -> node())).isEqualTo("replica");
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        if (jdbcTemplate.queryForObject("select count(*) from node", Integer.class) == 0) {
+            jdbcTemplate.update("insert into node (name) values (?)", name);
+        }
+        return dataSource;
+    }
+}
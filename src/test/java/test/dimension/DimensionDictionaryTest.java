@@ -0,0 +1,70 @@
+package test.dimension;
+
+import movie.app.movieapidevelopment.domain.dimension.DimensionDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DimensionDictionaryTest {
+
+    private final Map<String, Integer> table = new HashMap<>(Map.of("Drama", 1, "Comedy", 2));
+    private int loads;
+    private final DimensionDictionary dictionary = new DimensionDictionary("genres",
+            name -> {
+                loads++;
+                return table.get(name);
+            },
+            id -> {
+                loads++;
+                return table.entrySet().stream()
+                        .filter(entry -> entry.getValue() == id)
+                        .map(Map.Entry::getKey)
+                        .findFirst()
+                        .orElse(null);
+            });
+
+    @Test
+    void testCanonical_ReturnsSharedInstance() {
+        dictionary.put(1, "Drama");
+        String fromRequest = new String("Drama");
+
+        String canonical = dictionary.canonical(fromRequest);
+
+        assertThat(canonical).isEqualTo("Drama").isNotSameAs(fromRequest);
+        assertThat(canonical).isSameAs(dictionary.nameOf(1));
+        assertThat(loads).isZero();
+    }
+
+    @Test
+    void testCanonical_KeepsUnknownValue() {
+        String unknown = new String("Western");
+
+        assertThat(dictionary.canonical(unknown)).isSameAs(unknown);
+        assertThat(loads).isZero();
+    }
+
+    @Test
+    void testIdOf_LoadsMissOnceAndCachesIt() {
+        assertThat(dictionary.idOf("Comedy")).isEqualTo(2);
+        assertThat(dictionary.idOf("Comedy")).isEqualTo(2);
+
+        assertThat(loads).isEqualTo(1);
+    }
+
+    @Test
+    void testIdOf_UnknownValueMatchesNothing() {
+        assertThat(dictionary.idOf("Western")).isEqualTo(DimensionDictionary.UNKNOWN_ID);
+
+        table.put("Western", 3);
+        assertThat(dictionary.idOf("Western")).isEqualTo(3);
+    }
+
+    @Test
+    void testNameOf_FailsForDanglingId() {
+        assertThatThrownBy(() -> dictionary.nameOf(99)).isInstanceOf(IllegalStateException.class);
+    }
+}
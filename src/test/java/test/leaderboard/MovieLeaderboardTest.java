@@ -0,0 +1,131 @@
+package test.leaderboard;
+
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.leaderboard.MovieLeaderboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieLeaderboardTest {
+
+    private MovieRepository movieRepository;
+    private MovieLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        leaderboard = new MovieLeaderboard(movieRepository);
+    }
+
+    @Test
+    void testTop_OrdersByRatingThenId() {
+        leaderboard.add(movie(3L, "Drama", 2010, 8.0F));
+        leaderboard.add(movie(1L, "Drama", 2010, 8.0F));
+        leaderboard.add(movie(2L, "Drama", 2012, 9.1F));
+        leaderboard.add(movie(4L, "Comedy", 2010, 9.5F));
+
+        assertThat(leaderboard.top("Drama", null, 10)).extracting(MovieResponse::getId).containsExactly(2L, 1L, 3L);
+        assertThat(leaderboard.top(null, 2010, 2)).extracting(MovieResponse::getId).containsExactly(4L, 1L);
+        assertThat(leaderboard.top("Drama", 2012, 10)).extracting(MovieResponse::getId).containsExactly(2L);
+        assertThat(leaderboard.top("Western", null, 10)).isEmpty();
+    }
+
+    @Test
+    void testUpdate_MovesMovieBetweenBoards() {
+        MovieResponse before = movie(1L, "Drama", 2010, 7.0F);
+        leaderboard.add(before);
+        leaderboard.add(movie(2L, "Drama", 2010, 8.0F));
+
+        leaderboard.update(movie(1L, "Comedy", 2010, 9.0F), before);
+
+        assertThat(leaderboard.top("Drama", null, 10)).extracting(MovieResponse::getId).containsExactly(2L);
+        assertThat(leaderboard.top("Comedy", null, 10)).extracting(MovieResponse::getId).containsExactly(1L);
+        assertThat(leaderboard.top(null, null, 10)).extracting(MovieResponse::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void testRemove_UnknownPreviousStateSearchesEveryBoard() {
+        leaderboard.add(movie(1L, "Drama", 2010, 7.0F));
+
+        leaderboard.remove(1L, null);
+
+        assertThat(leaderboard.top(null, null, 10)).isEmpty();
+        assertThat(leaderboard.boardCount()).isZero();
+    }
+
+    @Test
+    void testRemove_ReloadsTrimmedBoardOnceItRunsShort() {
+        List<MovieResponse> movies = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            MovieResponse movie = movie(id, "Drama", 2010, id / 10.0F);
+            movies.add(movie);
+            leaderboard.add(movie);
+        }
+        when(movieRepository.findResponses(any(), any(), anyInt()))
+                .thenAnswer(invocation -> movies.subList(0, 150).reversed());
+
+        // the board kept the best 200 (ids 101..300); removing 100 of them still leaves n = 100 covered
+        for (long id = 300; id > 200; id--) {
+            leaderboard.remove(id, movies.get((int) id - 1));
+        }
+        verify(movieRepository, never()).findResponses(any(), any(), anyInt());
+
+        leaderboard.remove(200L, movies.get(199));
+
+        verify(movieRepository, atLeastOnce()).findResponses(any(), any(), anyInt());
+        assertThat(leaderboard.top("Drama", null, 1)).extracting(MovieResponse::getId).containsExactly(150L);
+    }
+
+    @Test
+    void testApplyChanges_DropsAChangeThatArrivesAfterANewerOne() {
+        leaderboard.add(movie(1L, "Drama", 2010, 7.0F));
+
+        boolean applied = leaderboard.applyChanges(-1, List.of(
+                change(1, 2, movie(1L, "Comedy", 2012, 9.0F), movie(1L, "Crime", 2010, 8.0F)),
+                change(2, 1, movie(1L, "Crime", 2010, 8.0F), movie(1L, "Drama", 2010, 7.0F))));
+
+        assertThat(applied).isTrue();
+        assertThat(leaderboard.appliedSeq()).isEqualTo(2);
+        assertThat(leaderboard.top("Comedy", null, 10)).extracting(MovieResponse::getId).containsExactly(1L);
+        assertThat(leaderboard.top("Drama", null, 10)).isEmpty();
+        assertThat(leaderboard.top("Crime", null, 10)).isEmpty();
+        assertThat(leaderboard.applyChanges(1, List.of())).isFalse();
+    }
+
+    private static MovieChangeEntity change(long seq, long version, MovieResponse movie, MovieResponse previous) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setId(seq);
+        change.setSeq(seq);
+        change.setType(MovieChangedEvent.Type.UPDATED);
+        change.setMovieId(movie.getId());
+        change.setMovieVersion(version);
+        change.setTitle(movie.getTitle());
+        change.setDirector(movie.getDirector());
+        change.setReleaseYear(movie.getReleaseYear());
+        change.setGenre(movie.getGenre());
+        change.setImdbRating(movie.getImdbRating());
+        change.setPreviousDirector(previous.getDirector());
+        change.setPreviousReleaseYear(previous.getReleaseYear());
+        change.setPreviousGenre(previous.getGenre());
+        change.setPreviousImdbRating(previous.getImdbRating());
+        return change;
+    }
+
+    private static MovieResponse movie(long id, String genre, int year, float rating) {
+        return new MovieResponse(id, "Movie " + id, "Director", year, genre, rating);
+    }
+}
@@ -0,0 +1,79 @@
+package test.lookup;
+
+import movie.app.movieapidevelopment.domain.projection.VersionedMovie;
+import movie.app.movieapidevelopment.domain.repository.MovieRepository;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.lookup.MovieLookupCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieLookupCoalescerTest {
+
+    private MovieRepository movieRepository;
+    private MovieLookupCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        movieRepository = mock(MovieRepository.class);
+        coalescer = new MovieLookupCoalescer(movieRepository);
+    }
+
+    @Test
+    void testLoad_MapsMissingIdsToNull() {
+        when(movieRepository.findVersionedByIds(any())).thenReturn(List.of(movie(1L)));
+
+        Map<Long, VersionedMovie> movies = coalescer.load(List.of(1L, 2L));
+
+        assertThat(movies.get(1L).getMovie().getTitle()).isEqualTo("Movie 1");
+        assertThat(movies).containsEntry(2L, null);
+    }
+
+    @Test
+    void testLoad_ConcurrentCallersShareOneFetch() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(movieRepository.findVersionedByIds(any())).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            Long[] ids = invocation.getArgument(0);
+            return Arrays.stream(ids).map(MovieLookupCoalescerTest::movie).toList();
+        });
+
+        CompletableFuture<Map<Long, VersionedMovie>> first = CompletableFuture.supplyAsync(
+                () -> coalescer.load(List.of(1L, 2L)));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Map<Long, VersionedMovie>> second = new AtomicReference<>();
+        Thread waiter = new Thread(() -> second.set(coalescer.load(List.of(2L))));
+        waiter.start();
+        // parked on the first caller's fetch
+        while (waiter.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        waiter.join(5_000);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+        assertThat(second.get().get(2L).getMovie().getId()).isEqualTo(2L);
+        verify(movieRepository, times(1)).findVersionedByIds(any());
+    }
+
+    private static VersionedMovie movie(Long id) {
+        return new VersionedMovie(new MovieResponse(id, "Movie " + id, "Director", 2000, "Drama", 7.0F), 0, null);
+    }
+}
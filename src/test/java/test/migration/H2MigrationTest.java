@@ -0,0 +1,60 @@
+package test.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs the common + h2 scripts the embedded and test databases get
+class H2MigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void testMigrate_CreatesKeysetIndexes() {
+        flyway(null).migrate();
+
+        assertThat(jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_name = 'MOVIES'", String.class))
+                .contains("IDX_MOVIES_RELEASE_YEAR_ID", "IDX_MOVIES_IMDB_RATING_ID", "IDX_MOVIES_GENRE_RATING_ID",
+                        "IDX_MOVIES_TITLE_ID")
+                .doesNotContain("IDX_MOVIES_RELEASE_YEAR", "IDX_MOVIES_IMDB_RATING", "IDX_MOVIES_GENRE");
+        assertThat(jdbcTemplate.queryForObject(
+                "select increment from information_schema.sequences where sequence_name = 'MOVIES_SEQ'", Long.class))
+                .isEqualTo(100L);
+    }
+
+    @Test
+    void testMigrate_BackfillsLookupIdsFromBaseline() {
+        flyway("1").migrate();
+        jdbcTemplate.update("insert into movies (id, title, director, release_year, genre, imdb_rating) "
+                + "values (1, 'Heat', 'Michael Mann', 1995, 'Crime', 8.3)");
+
+        flyway(null).migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select g.name from movies m join genres g on g.id = m.genre_id "
+                + "where m.id = 1", String.class)).isEqualTo("Crime");
+        assertThat(jdbcTemplate.queryForObject("select d.name from movies m join directors d on d.id = m.director_id "
+                + "where m.id = 1", String.class)).isEqualTo("Michael Mann");
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .target(target == null ? "latest" : target)
+                .load();
+    }
+}
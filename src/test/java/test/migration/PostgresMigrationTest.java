@@ -0,0 +1,86 @@
+package test.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs the common + postgresql scripts, including the CONCURRENTLY index builds, against a real server
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop schema if exists movies_archive cascade");
+        jdbcTemplate.execute("drop schema public cascade");
+        jdbcTemplate.execute("create schema public");
+    }
+
+    @Test
+    void testMigrate_BuildsValidKeysetIndexesConcurrently() {
+        flyway("1").migrate();
+        jdbcTemplate.update("insert into movies (id, title, director, release_year, genre, imdb_rating) "
+                + "values (1, 'Heat', 'Michael Mann', 1995, 'Crime', 8.3)");
+
+        flyway(null).migrate();
+
+        // an interrupted concurrent build would leave indisvalid = false behind
+        assertThat(jdbcTemplate.queryForList("select c.relname from pg_index i join pg_class c on c.oid = i.indexrelid "
+                + "where i.indrelid = 'movies'::regclass and i.indisvalid", String.class))
+                .contains("idx_movies_release_year_id", "idx_movies_imdb_rating_id", "idx_movies_genre_rating_id",
+                        "idx_movies_title_id", "uk_movies_title_director_year")
+                .doesNotContain("idx_movies_release_year", "idx_movies_imdb_rating", "idx_movies_genre");
+        assertThat(jdbcTemplate.queryForObject("select increment_by from pg_sequences where sequencename = 'movies_seq'",
+                Long.class)).isEqualTo(100L);
+        assertThat(jdbcTemplate.queryForObject("select g.name from movies m join genres g on g.id = m.genre_id "
+                + "where m.id = 1", String.class)).isEqualTo("Crime");
+        assertThat(jdbcTemplate.queryForObject("select m.tableoid::regclass::text from movies m where m.id = 1",
+                String.class)).isEqualTo("movies_1990s");
+    }
+
+    @Test
+    void testMigrate_AdoptsSchemaCreatedByHibernate() {
+        // what ddl-auto: update created for the original IDENTITY-keyed entity
+        jdbcTemplate.execute("create table movies (id bigint generated by default as identity primary key, "
+                + "director varchar(50) not null, genre varchar(30) not null, imdb_rating float(24) not null, "
+                + "release_year integer not null, title varchar(100) not null)");
+        jdbcTemplate.update("insert into movies (director, genre, imdb_rating, release_year, title) "
+                + "select 'Director ' || i, 'Crime', 7.5, 1990 + i % 30, 'Title ' || i from generate_series(1, 250) i");
+
+        flyway(null).migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from movies where version = 0", Long.class))
+                .isEqualTo(250L);
+        // Hibernate hands out the block of 100 ids ending at this value
+        assertThat(jdbcTemplate.queryForObject("select nextval('movies_seq')", Long.class)).isEqualTo(350L);
+        assertThat(jdbcTemplate.queryForList("select conname from pg_constraint where conrelid = 'movies'::regclass",
+                String.class)).contains("uk_movies_title_director_year");
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .target(target == null ? "latest" : target)
+                .load();
+    }
+}
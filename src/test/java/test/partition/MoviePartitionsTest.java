@@ -0,0 +1,63 @@
+package test.partition;
+
+import movie.app.movieapidevelopment.domain.dimension.MovieDimensions;
+import movie.app.movieapidevelopment.partition.MoviePartitions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class MoviePartitionsTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void testCreatePartitionAndArchive_MovesRowsOutOfDefaultAndDetaches() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        jdbcTemplate.update("insert into genres (id, name) values (1, 'Crime')");
+        jdbcTemplate.update("insert into directors (id, name) values (1, 'Michael Mann')");
+        jdbcTemplate.update("insert into movies (id, title, director_id, release_year, genre_id, imdb_rating) "
+                + "values (1, 'Heat', 1, 1995, 1, 8.3), (2, 'Future Heat', 1, 2071, 1, 7.0)");
+
+        MovieDimensions movieDimensions = new MovieDimensions(
+                new StaticListableBeanFactory(Map.of("jdbcTemplate", jdbcTemplate)).getBeanProvider(JdbcTemplate.class));
+        movieDimensions.load();
+        MoviePartitions moviePartitions = new MoviePartitions(jdbcTemplate, movieDimensions,
+                new DataSourceTransactionManager(dataSource), Duration.ofSeconds(5));
+        assertThat(moviePartitions.supported()).isTrue();
+
+        assertThat(moviePartitions.decadesInDefaultPartition()).containsExactly(2070);
+        assertThat(moviePartitions.createPartition(2070)).isTrue();
+        assertThat(moviePartitions.createPartition(2070)).isFalse();
+        assertThat(moviePartitions.decadesInDefaultPartition()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select tableoid::regclass::text from movies where id = 2",
+                String.class)).isEqualTo("movies_2070s");
+
+        assertThat(moviePartitions.archive(1990)).contains("movies_archive.movies_1990s");
+        assertThat(moviePartitions.archive(1990)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from movies where id = 1", Long.class)).isZero();
+        assertThat(moviePartitions.archivedMovies("movies_archive.movies_1990s", 0, 10))
+                .singleElement()
+                .satisfies(archived -> assertThat(archived.movie().getDirector()).isEqualTo("Michael Mann"));
+    }
+}
@@ -0,0 +1,100 @@
+package test.search;
+
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.search.MovieSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieSearchIndexTest {
+
+    private MovieSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieSearchIndex();
+        index.put(new MovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F));
+        index.put(new MovieResponse(2L, "Interstellar", "Christopher Nolan", 2014, "Sci-Fi", 8.7F));
+        index.put(new MovieResponse(3L, "Am\u00e9lie", "Jean-Pierre Jeunet", 2001, "Romance", 8.3F));
+        index.put(new MovieResponse(4L, "Nolan's Favourite", "Someone Else", 1999, "Drama", 6.1F));
+    }
+
+    @Test
+    void testSearch_PrefixMatchesTitle() {
+        List<MovieResponse> results = index.search("inc", 10);
+
+        assertThat(results).extracting(MovieResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    void testSearch_FoldsCaseAndAccents() {
+        assertThat(index.search("AMELIE", 10)).extracting(MovieResponse::getId).containsExactly(3L);
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAboveDirectorMatches() {
+        List<MovieResponse> results = index.search("nolan", 10);
+
+        assertThat(results).extracting(MovieResponse::getId).containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    void testSearch_RequiresEveryToken() {
+        assertThat(index.search("nolan inter", 10)).extracting(MovieResponse::getId).containsExactly(2L);
+    }
+
+    @Test
+    void testSearch_RespectsLimit() {
+        assertThat(index.search("christopher", 1)).hasSize(1);
+    }
+
+    @Test
+    void testUpdateAndRemove_AreReflectedImmediately() {
+        index.put(new MovieResponse(1L, "Tenet", "Christopher Nolan", 2020, "Sci-Fi", 7.3F));
+        index.remove(2L);
+
+        assertThat(index.search("inception", 10)).isEmpty();
+        assertThat(index.search("tenet", 10)).extracting(MovieResponse::getId).containsExactly(1L);
+        assertThat(index.search("christopher", 10)).extracting(MovieResponse::getId).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testApplyChanges_DropsChangesOlderThanTheIndexedOnes() {
+        boolean applied = index.applyChanges(-1, List.of(
+                change(1, MovieChangedEvent.Type.UPDATED, 1L, "Tenet", 2),
+                change(2, MovieChangedEvent.Type.UPDATED, 1L, "Stale", 1),
+                change(3, MovieChangedEvent.Type.DELETED, 2L, null, 0),
+                change(4, MovieChangedEvent.Type.UPDATED, 2L, "Interstellar", 0)));
+
+        assertThat(applied).isTrue();
+        assertThat(index.appliedSeq()).isEqualTo(4);
+        assertThat(index.search("tenet", 10)).extracting(MovieResponse::getId).containsExactly(1L);
+        assertThat(index.search("stale", 10)).isEmpty();
+        assertThat(index.search("interstellar", 10)).isEmpty();
+        assertThat(index.applyChanges(2, List.of(change(5, MovieChangedEvent.Type.DELETED, 1L, null, 2)))).isFalse();
+    }
+
+    private static MovieChangeEntity change(long seq, MovieChangedEvent.Type type, long movieId, String title,
+                                            long version) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setId(seq);
+        change.setSeq(seq);
+        change.setType(type);
+        change.setMovieId(movieId);
+        change.setMovieVersion(version);
+        if (title != null) {
+            change.setTitle(title);
+            change.setDirector("Christopher Nolan");
+            change.setReleaseYear(2014);
+            change.setGenre("Sci-Fi");
+            change.setImdbRating(8.0F);
+        }
+        return change;
+    }
+}
@@ -0,0 +1,120 @@
+package test.stats;
+
+import movie.app.movieapidevelopment.domain.entity.MovieChangeEntity;
+import movie.app.movieapidevelopment.dto.response.DirectorStatsResponse;
+import movie.app.movieapidevelopment.dto.response.GenreStatsResponse;
+import movie.app.movieapidevelopment.dto.response.MovieResponse;
+import movie.app.movieapidevelopment.dto.response.MovieStatsResponse;
+import movie.app.movieapidevelopment.event.MovieChangedEvent;
+import movie.app.movieapidevelopment.stats.MovieStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MovieStatisticsTest {
+
+    private MovieStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = new MovieStatistics();
+        created(new MovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F));
+        created(new MovieResponse(2L, "Interstellar", "Christopher Nolan", 2014, "Sci-Fi", 8.6F));
+        created(new MovieResponse(3L, "Heat", "Michael Mann", 1995, "Crime", 8.3F));
+    }
+
+    @Test
+    void testSnapshot_AggregatesCreatedMovies() {
+        MovieStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotalMovies()).isEqualTo(3);
+        assertThat(stats.getGenres()).extracting(GenreStatsResponse::getGenre).containsExactly("Crime", "Sci-Fi");
+        assertThat(stats.getGenres().get(1).getAverageRating()).isCloseTo(8.7, within(1e-4));
+        assertThat(stats.getDecades()).extracting(decade -> decade.getDecade() + "=" + decade.getCount())
+                .containsExactly("1990=1", "2010=2");
+        assertThat(stats.getTopDirectors()).extracting(DirectorStatsResponse::getDirector)
+                .containsExactly("Christopher Nolan", "Michael Mann");
+    }
+
+    @Test
+    void testUpdate_MovesMovieBetweenGroups() {
+        statistics.apply(new MovieResponse(3L, "Heat", "Michael Mann", 1995, "Crime", 8.3F),
+                new MovieResponse(3L, "Heat", "Michael Mann", 1995, "Sci-Fi", 8.3F));
+
+        MovieStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotalMovies()).isEqualTo(3);
+        assertThat(stats.getGenres()).extracting(GenreStatsResponse::getGenre).containsExactly("Sci-Fi");
+        assertThat(stats.getGenres().get(0).getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testDelete_RemovesEmptyGroupsAndReranksDirectors() {
+        statistics.apply(new MovieResponse(1L, "Inception", "Christopher Nolan", 2010, "Sci-Fi", 8.8F), null);
+        statistics.apply(new MovieResponse(2L, "Interstellar", "Christopher Nolan", 2014, "Sci-Fi", 8.6F), null);
+
+        MovieStatsResponse stats = statistics.snapshot();
+
+        assertThat(stats.getTotalMovies()).isEqualTo(1);
+        assertThat(stats.getDecades()).extracting(decade -> decade.getDecade()).containsExactly(1990);
+        assertThat(stats.getTopDirectors()).extracting(DirectorStatsResponse::getDirector)
+                .containsExactly("Michael Mann");
+    }
+
+    @Test
+    void testSnapshot_IsReusedUntilTheNextChange() {
+        MovieStatsResponse first = statistics.snapshot();
+
+        assertThat(statistics.snapshot()).isSameAs(first);
+
+        created(new MovieResponse(4L, "Collateral", "Michael Mann", 2004, "Crime", 7.5F));
+        assertThat(statistics.snapshot()).isNotSameAs(first);
+    }
+
+    @Test
+    void testApplyChanges_AppliesFeedInSeqOrderFromTheCurrentSeq() {
+        MovieStatistics fresh = new MovieStatistics();
+
+        boolean applied = fresh.applyChanges(-1, List.of(
+                change(1, MovieChangedEvent.Type.CREATED, "Crime", null),
+                change(2, MovieChangedEvent.Type.UPDATED, "Drama", "Crime")));
+
+        assertThat(applied).isTrue();
+        assertThat(fresh.appliedSeq()).isEqualTo(2);
+        assertThat(fresh.snapshot().getGenres()).extracting(GenreStatsResponse::getGenre).containsExactly("Drama");
+
+        assertThat(fresh.applyChanges(1, List.of(change(3, MovieChangedEvent.Type.DELETED, null, "Drama"))))
+                .isFalse();
+        assertThat(fresh.snapshot().getTotalMovies()).isEqualTo(1);
+    }
+
+    private void created(MovieResponse movie) {
+        statistics.apply(null, movie);
+    }
+
+    private static MovieChangeEntity change(long seq, MovieChangedEvent.Type type, String genre, String previousGenre) {
+        MovieChangeEntity change = new MovieChangeEntity();
+        change.setId(seq);
+        change.setSeq(seq);
+        change.setType(type);
+        change.setMovieId(3L);
+        change.setTitle("Heat");
+        if (genre != null) {
+            change.setDirector("Michael Mann");
+            change.setReleaseYear(1995);
+            change.setGenre(genre);
+            change.setImdbRating(8.3F);
+        }
+        if (previousGenre != null) {
+            change.setPreviousDirector("Michael Mann");
+            change.setPreviousReleaseYear(1995);
+            change.setPreviousGenre(previousGenre);
+            change.setPreviousImdbRating(8.3F);
+        }
+        return change;
+    }
+}
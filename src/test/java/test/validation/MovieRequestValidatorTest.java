@@ -0,0 +1,41 @@
+package test.validation;
+
+import movie.app.movieapidevelopment.dto.request.MovieRequest;
+import movie.app.movieapidevelopment.validation.FieldViolation;
+import movie.app.movieapidevelopment.validation.MovieRequestValidator;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MovieRequestValidatorTest {
+
+    @Test
+    void testValidate_ValidRequestHasNoViolations() {
+        assertThat(MovieRequestValidator.validate(request("Heat", "Michael Mann", 1995, "Crime", 8.3F))).isEmpty();
+    }
+
+    @Test
+    void testValidate_CollectsEveryViolation() {
+        MovieRequest request = request(" ", "x".repeat(51), 1700, null, Float.NaN);
+
+        assertThat(MovieRequestValidator.validate(request))
+                .extracting(FieldViolation::getField, FieldViolation::getMessage)
+                .containsExactly(
+                        tuple("title", "Title cannot be blank"),
+                        tuple("director", "Director must be at most 50 characters"),
+                        tuple("genre", "Genre cannot be blank"),
+                        tuple("releaseYear", "Release year must be between 1888 and 2100"),
+                        tuple("imdbRating", "IMDb rating must be between 0 and 10"));
+    }
+
+    private static MovieRequest request(String title, String director, Integer year, String genre, Float rating) {
+        MovieRequest request = new MovieRequest();
+        request.setTitle(title);
+        request.setDirector(director);
+        request.setReleaseYear(year);
+        request.setGenre(genre);
+        request.setImdbRating(rating);
+        return request;
+    }
+}